@@ -0,0 +1,109 @@
+package org.ericghara.channel;
+
+import lombok.NonNull;
+import org.ericghara.write.bytesupplier.ByteSupplier;
+import org.ericghara.write.bytesupplier.RegionAwareByteSupplier;
+import org.ericghara.write.bytesupplier.SeekableByteSupplier;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * A {@link ReadableByteChannel} of the first {@code size} bytes of a {@link ByteSupplier}, for streaming
+ * generated content into the code under test without writing a file.  Each read is a single bulk
+ * {@link ByteSupplier#fill(ByteBuffer)}.
+ * <br><br>
+ * The content is identical to a file created by {@link org.ericghara.write.ByteWriter#create(long, ByteSupplier)
+ * ByteWriter.create(size, supplier)}: a {@link SeekableByteSupplier} is positioned at {@code 0} and a
+ * {@link RegionAwareByteSupplier} is told the region {@code [0, size)}.  The channel ends early if the
+ * supplier is exhausted.
+ */
+public class SupplierChannel implements ReadableByteChannel {
+
+    private final ByteSupplier supplier;
+    private long remaining;
+    private boolean open = true;
+
+    /**
+     * @param supplier the source of bytes
+     * @param size the number of bytes before the end of the channel
+     * @throws IllegalArgumentException if {@code size} is negative
+     */
+    public SupplierChannel(@NonNull ByteSupplier supplier, long size) throws IllegalArgumentException {
+        if (size < 0) {
+            throw new IllegalArgumentException("Received a negative size.");
+        }
+        this.supplier = supplier;
+        this.remaining = size;
+        begin(supplier, size);
+    }
+
+    /**
+     * An {@link InputStream} of the first {@code size} bytes of {@code supplier}.
+     *
+     * @param supplier the source of bytes
+     * @param size the number of bytes before the end of the stream
+     * @return a new input stream
+     * @throws IllegalArgumentException if {@code size} is negative
+     */
+    public static InputStream newInputStream(@NonNull ByteSupplier supplier, long size)
+            throws IllegalArgumentException {
+        return new SupplierInputStream(new SupplierChannel(supplier, size) );
+    }
+
+    // prepares supplier to supply a region of numBytes beginning at 0, as ByteWriter would
+    static void begin(ByteSupplier supplier, long numBytes) {
+        if (supplier instanceof SeekableByteSupplier seekable) {
+            seekable.position(0);
+        }
+        if (supplier instanceof RegionAwareByteSupplier regionAware) {
+            regionAware.beginRegion(0, numBytes);
+        }
+    }
+
+    /**
+     * The number of bytes remaining before the end of the channel.
+     *
+     * @return bytes remaining, assuming the supplier is not exhausted
+     */
+    public long remaining() {
+        return remaining;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws ClosedChannelException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+        if (remaining == 0) {
+            return -1;
+        }
+        int limit = dst.limit();
+        int len = (int) Math.min(dst.remaining(), remaining);
+        dst.limit(dst.position() + len);
+        int read;
+        try {
+            read = supplier.fill(dst);
+        } finally {
+            dst.limit(limit);
+        }
+        if (read < len) {
+            remaining = 0; // supplier exhausted
+            return read == 0 ? -1 : read;
+        }
+        remaining -= read;
+        return read;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() {
+        open = false;
+    }
+}
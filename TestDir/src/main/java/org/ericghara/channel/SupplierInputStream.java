@@ -0,0 +1,62 @@
+package org.ericghara.channel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * An {@link InputStream} reading a {@link SupplierChannel}.  Array reads fill the caller's array directly.
+ *
+ * @see SupplierChannel#newInputStream(org.ericghara.write.bytesupplier.ByteSupplier, long)
+ */
+class SupplierInputStream extends InputStream {
+
+    private static final int TRANSFER_SIZE = 64 * 1024;
+
+    private final SupplierChannel channel;
+    private final ByteBuffer single = ByteBuffer.allocate(1);
+
+    SupplierInputStream(SupplierChannel channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public int read() throws IOException {
+        single.clear();
+        return channel.read(single) == 1 ? Byte.toUnsignedInt(single.get(0) ) : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0) {
+            return 0;
+        }
+        return channel.read(ByteBuffer.wrap(b, off, len) );
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(channel.remaining(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public long transferTo(OutputStream out) throws IOException {
+        Objects.requireNonNull(out);
+        byte[] buffer = new byte[TRANSFER_SIZE];
+        long transferred = 0;
+        int read;
+        while ( (read = read(buffer, 0, buffer.length) ) >= 0) {
+            out.write(buffer, 0, read);
+            transferred += read;
+        }
+        return transferred;
+    }
+
+    @Override
+    public void close() {
+        channel.close();
+    }
+}
@@ -0,0 +1,126 @@
+package org.ericghara.channel;
+
+import lombok.NonNull;
+import org.ericghara.write.bytesupplier.ByteSupplier;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A {@link WritableByteChannel} that compares the bytes written to it with those of an expected
+ * {@link ByteSupplier}, without storing them.  Expected bytes are drawn in bulk and compared with
+ * {@link ByteBuffer#mismatch(ByteBuffer)}.
+ * <br><br>
+ * The expected supplier is prepared as by {@link SupplierChannel}, so a channel created with the same supplier
+ * and size as a {@code SupplierChannel} (or a file written by {@link org.ericghara.write.ByteWriter ByteWriter})
+ * verifies its content.  Writes never fail because of a mismatch; after the code under test has finished,
+ * check {@link VerifyingChannel#matches()}, or {@link VerifyingChannel#mismatch()} for the offset of the first
+ * difference.
+ */
+public class VerifyingChannel implements WritableByteChannel {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final ByteSupplier expected;
+    private final long size;
+    private final ByteBuffer chunk;
+    private long position = 0;
+    private long mismatch = -1;
+    private boolean open = true;
+
+    /**
+     * Creates a channel expecting exactly {@code size} bytes from {@code expected}.
+     *
+     * @param expected the supplier of the expected bytes
+     * @param size the expected number of bytes
+     * @throws IllegalArgumentException if {@code size} is negative
+     */
+    public VerifyingChannel(@NonNull ByteSupplier expected, long size) throws IllegalArgumentException {
+        if (size < 0) {
+            throw new IllegalArgumentException("Received a negative size.");
+        }
+        this.expected = expected;
+        this.size = size;
+        this.chunk = ByteBuffer.allocateDirect(CHUNK_SIZE);
+        SupplierChannel.begin(expected, size);
+    }
+
+    /**
+     * Compares {@code src} with the next expected bytes.  All remaining bytes of {@code src} are consumed.
+     *
+     * @param src the bytes written
+     * @return the number of bytes consumed
+     * @throws ClosedChannelException if the channel is closed
+     */
+    @Override
+    public int write(ByteBuffer src) throws ClosedChannelException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+        int n = src.remaining();
+        if (mismatch >= 0) {
+            src.position(src.limit() ); // already failed, no need to compare
+        }
+        while (src.hasRemaining() ) {
+            int len = (int) Math.min(Math.min(src.remaining(), CHUNK_SIZE), size - position);
+            if (len == 0) {
+                mismatch = position; // more bytes than expected
+                src.position(src.limit() );
+                break;
+            }
+            chunk.clear()
+                 .limit(len);
+            int filled = expected.fill(chunk);
+            chunk.flip();
+            int diff = src.slice(src.position(), filled)
+                          .mismatch(chunk);
+            if (diff >= 0) {
+                mismatch = position + diff;
+            } else if (filled < len) {
+                mismatch = position + filled; // expected supplier exhausted
+            }
+            if (mismatch >= 0) {
+                src.position(src.limit() );
+                break;
+            }
+            src.position(src.position() + len);
+            position += len;
+        }
+        return n;
+    }
+
+    /**
+     * The offset of the first byte that differed from the expected content.  Writing more than the expected
+     * number of bytes is a mismatch at the expected size.
+     *
+     * @return the offset of the first difference, or {@code -1} if there has been none
+     */
+    public long mismatch() {
+        return mismatch;
+    }
+
+    /**
+     * @return {@code true} if exactly the expected bytes have been written
+     */
+    public boolean matches() {
+        return mismatch < 0 && position == size;
+    }
+
+    /**
+     * @return the number of bytes verified to match
+     */
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() {
+        open = false;
+    }
+}
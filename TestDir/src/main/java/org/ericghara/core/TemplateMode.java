@@ -0,0 +1,34 @@
+package org.ericghara.core;
+
+import org.ericghara.write.ByteWriter;
+
+/**
+ * How a {@link TestDir} creates files of the same size with the same {@link org.ericghara.write.bytesupplier.ByteSupplier
+ * ByteSupplier}, e.g. the thousands of same-size files of a manifest whose content does not matter.
+ *
+ * @see TestDir#setTemplateMode(TemplateMode)
+ */
+public enum TemplateMode {
+
+    /**
+     * Every file is written with bytes from the supplier.
+     */
+    NONE,
+
+    /**
+     * The first file of each size and supplier is written with bytes from the supplier and becomes the template;
+     * the others are copies of it, see {@link ByteWriter#createCopy(java.nio.file.Path)}.  Files have identical
+     * content, even with a {@link org.ericghara.write.bytesupplier.SeekableByteSupplier SeekableByteSupplier}.
+     * A template that is modified through its {@code TestDir}, or deleted, is replaced by the next file written.
+     * Files of a {@link org.ericghara.write.bytesupplier.ZeroByteSupplier ZeroByteSupplier} are written, not
+     * copied, as a copy of a sparse file is fully allocated.
+     */
+    COPY,
+
+    /**
+     * As {@link TemplateMode#COPY}, but the others are hard links to the template, see
+     * {@link ByteWriter#createLink(java.nio.file.Path)}.  Creating a link writes no data, but modifying any of
+     * the files modifies all of them, so this is only suitable for read-only fixtures.
+     */
+    LINK
+}
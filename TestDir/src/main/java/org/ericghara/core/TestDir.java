@@ -6,33 +6,55 @@ import org.ericghara.exception.FileCreationException;
 import org.ericghara.exception.FileReadException;
 import org.ericghara.exception.WriteFailureException;
 import org.ericghara.write.ByteWriter;
+import org.ericghara.write.Durability;
+import org.ericghara.write.EditBatch;
+import org.ericghara.write.ModifiedRegions;
+import org.ericghara.write.SparseLayout;
+import org.ericghara.write.SyncGroup;
+import org.ericghara.write.WriteOptions;
+import org.ericghara.write.WriteSession;
 import org.ericghara.write.bytesupplier.ByteSupplier;
 import org.ericghara.write.bytesupplier.RandomByteSupplier;
+import org.ericghara.write.bytesupplier.SeekableByteSupplier;
+import org.ericghara.write.bytesupplier.ZeroByteSupplier;
 
-import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.file.FileSystem;
 import java.nio.file.Files;
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-
-import static java.nio.file.StandardOpenOption.WRITE;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This is intended for testing methods that implement filesystem I/O operations.  All files
  * are written with random bytes.
+ * <br><br>
+ * If the {@link ByteSupplier} is a {@link SeekableByteSupplier} each file is written with the supplier
+ * returned by {@link SeekableByteSupplier#forPath(Path)} for its path relative to this {@code TestDir}.  With
+ * a {@link org.ericghara.write.bytesupplier.KeyedRandomByteSupplier KeyedRandomByteSupplier} the content of every
+ * file is reproducible, independent of the order files are created or modified in, unless files are
+ * created from templates, see {@link TemplateMode}.
  */
 public class TestDir {
 
     private final Path dirPath; // parent which all relative paths in csv are resolved against
     private final FileSystem fileSystem;
-    private final Set<Path> files = new HashSet<>(); // all files successfully written
-    private final Set<Path> dirs = new HashSet<>(); // all dirs successfully written
+    private final Set<Path> files = ConcurrentHashMap.newKeySet(); // all files successfully written
+    private final Set<Path> dirs = ConcurrentHashMap.newKeySet(); // all dirs successfully written
+
+    private final Map<Template, Path> templates = new ConcurrentHashMap<>(); // file cloned for each size and supplier
 
     private ByteSupplier byteSupplier;
+    private WriteOptions writeOptions = WriteOptions.defaults();
+    private TemplateMode templateMode = TemplateMode.NONE;
+
+    // the content of a file created from a template
+    private record Template(long numBytes, ByteSupplier byteSupplier) {}
 
     /**
      * Creates a TestDir instance in the specified directory and
@@ -122,6 +144,46 @@ public class TestDir {
         return byteSupplier;
     }
 
+    /**
+     * Sets the options used for all subsequent file writes.
+     *
+     * @param writeOptions the {@link WriteOptions} to use
+     * @throws IllegalArgumentException if {@code writeOptions} is null
+     */
+    public void setWriteOptions(WriteOptions writeOptions) throws IllegalArgumentException {
+        if (Objects.isNull(writeOptions) ) {
+            throw new IllegalArgumentException("Received null WriteOptions");
+        }
+        this.writeOptions = writeOptions;
+    }
+
+    /**
+     * @return the current {@link WriteOptions}
+     */
+    public WriteOptions getWriteOptions() {
+        return writeOptions;
+    }
+
+    /**
+     * Sets how subsequent files of the same size and {@link ByteSupplier} are created.
+     *
+     * @param templateMode the {@link TemplateMode} to use
+     * @throws IllegalArgumentException if {@code templateMode} is null
+     */
+    public void setTemplateMode(TemplateMode templateMode) throws IllegalArgumentException {
+        if (Objects.isNull(templateMode) ) {
+            throw new IllegalArgumentException("Received a null TemplateMode");
+        }
+        this.templateMode = templateMode;
+    }
+
+    /**
+     * @return the current {@link TemplateMode}
+     */
+    public TemplateMode getTemplateMode() {
+        return templateMode;
+    }
+
     /**
      * Absolute paths of all files created by this {@link TestDir} instance
      * @return {@link Set} of file {@link Path}s
@@ -232,27 +294,98 @@ public class TestDir {
      * @see TestDir#createFile(String, BigDecimal, SizeUnit)
      */
     public Path createFile(Path path, BigDecimal size, SizeUnit unit) throws FileCreationException {
-        validatePath(path);
-        Path absPath = dirPath.resolve(path);
-        Path parentPath = absPath.getParent();
-        if (Files.notExists(parentPath, LinkOption.NOFOLLOW_LINKS)) {
-            createDirs(parentPath);
-        }
-        if (Files.exists(absPath) ) {
-            throw new FileCreationException("The specified file already exists: " + path);
+        Path absPath = newFilePath(path);
+        try {
+            var writer = new ByteWriter(absPath, writeOptions);
+            if (templateMode == TemplateMode.NONE || isSparse() ) {
+                writer.create(size, unit, supplierFor(absPath) );
+            } else {
+                createFromTemplate(writer, absPath, unit.toBytes(size) );
+            }
+            files.add(absPath);
+            return absPath;
+        } catch (FileCreationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Could not create the file:" + absPath + ".", e);
         }
+    }
+
+    /**
+     * Creates a sparse file at the given path.  The path if absolute must be within {@code testDir}.
+     * Any new directories required to complete the file path are created.  Only the islands of
+     * {@code layout} are written, with data from the current {@link ByteSupplier}; the rest of the file
+     * is a hole.
+     * @param path file path
+     * @param layout the size of the file and the regions containing data
+     * @return the {@link Path} of the created file
+     * @throws FileCreationException if there are any errors creating or writing to the file
+     * @see ByteWriter#create(SparseLayout, ByteSupplier)
+     */
+    public Path createFile(Path path, @NonNull SparseLayout layout) throws FileCreationException {
+        Path absPath = newFilePath(path);
         try {
-            new ByteWriter(absPath).create(size, unit, byteSupplier);
+            new ByteWriter(absPath, writeOptions).create(layout, supplierFor(absPath) );
             files.add(absPath);
             return absPath;
+        } catch (FileCreationException e) {
+            throw e;
         } catch (Exception e) {
             throw new IllegalArgumentException("Could not create the file:" + absPath + ".", e);
         }
     }
 
+    // clones the template of this size and supplier, or writes the file and makes it the template
+    private void createFromTemplate(ByteWriter writer, Path absPath, long numBytes) {
+        var key = new Template(numBytes, byteSupplier);
+        Path template = templates.get(key);
+        if (Objects.nonNull(template) ) {
+            try {
+                if (templateMode == TemplateMode.LINK) {
+                    writer.createLink(template);
+                } else {
+                    writer.createCopy(template);
+                }
+                return;
+            } catch (RuntimeException e) {
+                templates.remove(key, template);
+                if (Files.exists(template, LinkOption.NOFOLLOW_LINKS) ) {
+                    throw e;
+                }
+                // the template was deleted, this file replaces it
+            }
+        }
+        writer.create(numBytes, supplierFor(absPath) );
+        templates.putIfAbsent(key, absPath);
+    }
+
+    // a copy of a sparse template is fully allocated, writing zeros leaves a hole without allocating
+    private boolean isSparse() {
+        return templateMode == TemplateMode.COPY && byteSupplier instanceof ZeroByteSupplier;
+    }
+
+    // a modified template no longer has the content of its size and supplier
+    private void forgetTemplate(Path absPath) {
+        templates.values().remove(absPath);
+    }
+
+    // absolute path of a new file, creating any missing parent dirs.  Parents recorded by this TestDir are not
+    // checked, and an existing file is reported when the ByteWriter fails to create it.
+    private Path newFilePath(Path path) throws FileCreationException {
+        validatePath(path);
+        Path absPath = dirPath.resolve(path);
+        Path parentPath = absPath.getParent();
+        if (!parentPath.equals(dirPath) && !dirs.contains(parentPath)
+                && Files.notExists(parentPath, LinkOption.NOFOLLOW_LINKS)) {
+            createDirs(parentPath);
+        }
+        return absPath;
+    }
+
     /**
      * Resizes a file in this {@link TestDir}.  If new data needs to be written
-     * it is supplied by the current {@link ByteSupplier}.
+     * it is supplied by the current {@link ByteSupplier}.  With a {@link ZeroByteSupplier}
+     * the file is extended without writing, leaving a hole.
      * @param path file to resize
      * @param newSize the size the file will be resized to
      * @param unit the unit of measurement for {@code newSize}
@@ -266,24 +399,16 @@ public class TestDir {
     public Path resizeFile(Path path, @NonNull BigDecimal newSize, @NonNull SizeUnit unit)
             throws FileReadException, IllegalArgumentException, WriteFailureException {
         Path absPath = getFileThrows(path);
-        BigDecimal curSize;
-        try {
-            curSize = unit.fromBytes(Files.size(absPath) );
-        } catch (IOException e) {
-            throw new FileReadException("Could not read the file size. " + absPath);
-        }
-        if (curSize.compareTo(newSize) > 0 ) {
-            try {
-                var channel = Files.newByteChannel(absPath, WRITE);
-                channel.truncate(unit.toBytes(newSize) );
-            } catch (IOException e) {
-                throw new WriteFailureException("Unable to reduce the file size", e);
+        forgetTemplate(absPath);
+        long newBytes = unit.toBytes(newSize);
+        try (var session = new ByteWriter(absPath, writeOptions).open(supplierFor(absPath) ) ) {
+            long curBytes = session.size();
+            if (curBytes > newBytes) {
+                session.truncate(newBytes);
+            }
+            else {
+                session.append(newBytes - curBytes);
             }
-        }
-        else {
-            BigDecimal numUnits = newSize.subtract(curSize);
-            new ByteWriter(absPath).modify(
-                    curSize, numUnits, unit, byteSupplier);
         }
         return absPath;
     }
@@ -322,9 +447,10 @@ public class TestDir {
     public Path modifyFile(Path path, BigDecimal startPos, BigDecimal endPos, SizeUnit unit ) throws
             IllegalArgumentException, WriteFailureException {
         Path absPath = getFileThrows(path);
+        forgetTemplate(absPath);
         long startByte = unit.toBytes(startPos);
         long numBytes = unit.toBytes(endPos) - startByte;
-        new ByteWriter(absPath).modify(startByte, numBytes, byteSupplier);
+        new ByteWriter(absPath, writeOptions).modify(startByte, numBytes, supplierFor(absPath) );
         return absPath;
     }
 
@@ -350,6 +476,67 @@ public class TestDir {
         return modifyFile(absPath, startPos, endPos, unit);
     }
 
+    /**
+     * Overwrites many regions of an existing file using the current {@link ByteSupplier}, through one channel.
+     * Edits are sorted by offset and overlapping or adjacent edits are merged.
+     * @param path the file to modify (must be within this {@code TestDir})
+     * @param edits the regions to overwrite
+     * @return the regions written
+     * @throws IllegalArgumentException if the {@code path} is not a file in this TestDir
+     * @throws IllegalArgumentException if a region begins beyond the end of the file
+     * @throws WriteFailureException if any I/O error occurs
+     * @see ByteWriter#modify(EditBatch, ByteSupplier)
+     */
+    public ModifiedRegions editFile(Path path, @NonNull EditBatch edits)
+            throws IllegalArgumentException, WriteFailureException {
+        Path absPath = getFileThrows(path);
+        forgetTemplate(absPath);
+        return new ByteWriter(absPath, writeOptions).modify(edits, supplierFor(absPath) );
+    }
+
+    /**
+     * Overwrites many regions of an existing file using the current {@link ByteSupplier}, through one channel.
+     * @param pathString the file to modify (must be within this {@code TestDir})
+     * @param edits the regions to overwrite
+     * @return the regions written
+     * @throws IllegalArgumentException if the {@code pathString} is not a file in this TestDir
+     * @throws IllegalArgumentException if a region begins beyond the end of the file
+     * @throws WriteFailureException if any I/O error occurs
+     * @see TestDir#editFile(Path, EditBatch)
+     */
+    public ModifiedRegions editFile(String pathString, @NonNull EditBatch edits)
+            throws IllegalArgumentException, WriteFailureException {
+        return editFile(getFileThrows(pathString), edits);
+    }
+
+    /**
+     * Opens a file in this {@link TestDir} for any number of modifications, appends and truncations through
+     * one channel, written with the current {@link ByteSupplier}.  The session must be closed.
+     * @param path the file to open (must be within this {@code TestDir})
+     * @return an open {@link WriteSession}
+     * @throws IllegalArgumentException if the {@code path} is not a file in this TestDir
+     * @throws WriteFailureException if the file cannot be opened
+     * @see ByteWriter#open(ByteSupplier)
+     */
+    public WriteSession openFile(Path path) throws IllegalArgumentException, WriteFailureException {
+        Path absPath = getFileThrows(path);
+        forgetTemplate(absPath);
+        return new ByteWriter(absPath, writeOptions).open(supplierFor(absPath) );
+    }
+
+    /**
+     * Opens a file in this {@link TestDir} for any number of modifications, appends and truncations through
+     * one channel, written with the current {@link ByteSupplier}.  The session must be closed.
+     * @param pathString the file to open (must be within this {@code TestDir})
+     * @return an open {@link WriteSession}
+     * @throws IllegalArgumentException if the {@code pathString} is not a file in this TestDir
+     * @throws WriteFailureException if the file cannot be opened
+     * @see TestDir#openFile(Path)
+     */
+    public WriteSession openFile(String pathString) throws IllegalArgumentException, WriteFailureException {
+        return openFile(getFileThrows(pathString) );
+    }
+
     /**
      * Creates a directory at the given path.  If the path is absolute, it must be within the {@code TestDir}.
      * If the parent path to the directory does not yet exist, directories are created in order to complete the path.<br><br>
@@ -379,10 +566,40 @@ public class TestDir {
         } catch (Exception e) {
             throw new DirCreationException(absPath.toString(), e);
         }
-        recordDirs(absPath);
+        List<Path> recorded = recordDirs(absPath);
+        if (writeOptions.getDurability() == Durability.FULL && !recorded.isEmpty() ) {
+            forceParents(recorded);
+        }
         return absPath;
     }
 
+    /**
+     * Forces files and directories deferred to the {@link SyncGroup} of the current {@link WriteOptions} to
+     * storage, e.g. at the end of a bulk operation.  Has no effect without a sync group.
+     * @throws WriteFailureException if any file or directory cannot be forced
+     * @see WriteOptions.Builder#setSyncGroup(SyncGroup)
+     */
+    public void sync() throws WriteFailureException {
+        if (writeOptions.isGroupCommit() ) {
+            writeOptions.getSyncGroup().sync();
+        }
+    }
+
+    // the entries of new dirs are in their parents, forced now or deferred to the sync group
+    private void forceParents(List<Path> newDirs) throws DirCreationException {
+        SyncGroup group = writeOptions.isGroupCommit() ? writeOptions.getSyncGroup() : new SyncGroup();
+        for (Path dir : newDirs) {
+            group.addDirectory(dir.getParent() );
+        }
+        if (!writeOptions.isGroupCommit() ) {
+            try {
+                group.sync();
+            } catch (WriteFailureException e) {
+                throw new DirCreationException(newDirs.get(0).toString(), e);
+            }
+        }
+    }
+
     private Path getFileThrows(Path path) throws IllegalArgumentException {
         Path absPath = getFile(path);
         if (Objects.isNull(absPath) ) {
@@ -396,11 +613,22 @@ public class TestDir {
         return getFileThrows(path);
     }
 
-    private void recordDirs(Path absPath) {
+    private ByteSupplier supplierFor(Path absPath) {
+        if (byteSupplier instanceof SeekableByteSupplier seekable) {
+            return seekable.forPath(dirPath.relativize(absPath) );
+        }
+        return byteSupplier;
+    }
+
+    // returns the dirs not previously recorded
+    private List<Path> recordDirs(Path absPath) {
+        List<Path> recorded = new ArrayList<>();
         while (!absPath.equals(dirPath) &&
                 dirs.add(absPath) ) {
+            recorded.add(absPath);
             absPath = absPath.getParent();
         }
+        return recorded;
     }
 
     private void validatePath(Path path) throws IllegalArgumentException {
@@ -6,6 +6,7 @@ import lombok.NonNull;
 import lombok.ToString;
 import org.ericghara.csv.ReaderUtils;
 import org.ericghara.csv.WriteFromCSV;
+import org.ericghara.write.WriteOptions;
 import org.ericghara.write.bytesupplier.ByteSupplier;
 import org.ericghara.write.bytesupplier.RandomByteSupplier;
 
@@ -25,11 +26,17 @@ public class TestDirBuilder {
     private FsType fsType;
     @Getter
     private ByteSupplier byteSupplier;
+    @Getter
+    private WriteOptions writeOptions = WriteOptions.defaults();
+    @Getter
+    private TemplateMode templateMode = TemplateMode.NONE;
 
     private boolean csvSourceSet = false;
     private boolean targetDirSet = false;
     private boolean fsTypeSet = false;
     private boolean byteSupplierSet = false;
+    private boolean writeOptionsSet = false;
+    private boolean templateModeSet = false;
 
 
 
@@ -75,6 +82,24 @@ public class TestDirBuilder {
         return this;
     }
 
+    public TestDirBuilder setWriteOptions(@NonNull WriteOptions writeOptions) {
+        if (writeOptionsSet) {
+            throw new IllegalStateException("The writeOptions have already been set.");
+        }
+        this.writeOptions = writeOptions;
+        writeOptionsSet = true;
+        return this;
+    }
+
+    public TestDirBuilder setTemplateMode(@NonNull TemplateMode templateMode) {
+        if (templateModeSet) {
+            throw new IllegalStateException("The templateMode has already been set.");
+        }
+        this.templateMode = templateMode;
+        templateModeSet = true;
+        return this;
+    }
+
     public TestDirBuilder setFsType(@NonNull FsType os) {
         if (fsTypeSet) {
             throw new IllegalStateException("The targetDir has already been set.");
@@ -99,6 +124,8 @@ public class TestDirBuilder {
             targetDir = createJimFS();
         }
         var testDir = new TestDir(targetDir, byteSupplier);
+        testDir.setWriteOptions(writeOptions);
+        testDir.setTemplateMode(templateMode);
         if (csvSourceSet) {
             var writer = new WriteFromCSV();
             writer.write(testDir, csvStream);
@@ -107,8 +134,7 @@ public class TestDirBuilder {
     }
 
     private static ByteSupplier initDefaultByteSupplier() {
-        var rand = new RandomByteSupplier();
-        return  rand::getAsByte;
+        return new RandomByteSupplier();
     }
 
     private Path createJimFS() {
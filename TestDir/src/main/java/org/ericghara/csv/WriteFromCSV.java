@@ -157,6 +157,7 @@ public class WriteFromCSV {
             var result = new CSVResult();
             Map<LineType, List<TestDirCSVLine>> results = result.getResultsByLineType(csvStream);
             results.forEach(this::writeLineType);
+            testDir.sync(); // group commit of the whole manifest
         }
 
         void writeLineType(LineType lineType, List<TestDirCSVLine> lines) throws UnsupportedOperationException {
@@ -0,0 +1,77 @@
+package org.ericghara.write;
+
+import java.nio.file.Path;
+
+/**
+ * Chooses the size of the buffer, and so of each write, used to write a region of a file.
+ *
+ * @see WriteOptions.Builder#setBlockSizePolicy(BlockSizePolicy)
+ */
+@FunctionalInterface
+public interface BlockSizePolicy {
+
+    /**
+     * The block size used by {@link BlockSizePolicy#adaptive()} when the file store's block size is unknown.
+     */
+    int DEFAULT_BLOCK_SIZE = 4096;
+
+    /**
+     * The largest block size chosen by {@link BlockSizePolicy#adaptive()}.
+     */
+    int MAX_BLOCK_SIZE = 1024 * 1024;
+
+    /**
+     * The largest block size chosen by {@link BlockSizePolicy#adaptive()} for an in-memory Jimfs filesystem, where
+     * there is no per write system call to amortize.
+     */
+    int MAX_JIMFS_BLOCK_SIZE = 64 * 1024;
+
+    /**
+     * @param path the file being written, which exists
+     * @param numBytes the number of bytes to be written
+     * @return the block size in bytes, a positive number
+     */
+    int blockSize(Path path, long numBytes);
+
+    /**
+     * A policy that always chooses {@code blockSize}.
+     *
+     * @param blockSize the block size in bytes
+     * @return a fixed policy
+     * @throws IllegalArgumentException if {@code blockSize} is not positive
+     */
+    static BlockSizePolicy fixed(int blockSize) throws IllegalArgumentException {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Received a non-positive block size.");
+        }
+        return (path, numBytes) -> blockSize;
+    }
+
+    /**
+     * The default policy.  Small regions are written in one block of {@link BlockSizePolicy#DEFAULT_BLOCK_SIZE}.
+     * Larger regions use the smallest power of two holding the region, rounded to a multiple of the
+     * file store's block size, up to {@link BlockSizePolicy#MAX_BLOCK_SIZE} (or
+     * {@link BlockSizePolicy#MAX_JIMFS_BLOCK_SIZE} on Jimfs).  The file store's block size is looked up once per
+     * directory.
+     *
+     * @return the adaptive policy
+     */
+    static BlockSizePolicy adaptive() {
+        return (path, numBytes) -> {
+            if (numBytes <= DEFAULT_BLOCK_SIZE) {
+                return DEFAULT_BLOCK_SIZE;
+            }
+            boolean jimfs = "jimfs".equals(path.getFileSystem().provider().getScheme() );
+            int storeBlockSize = jimfs ? DEFAULT_BLOCK_SIZE : storeBlockSize(path);
+            int max = Math.max(jimfs ? MAX_JIMFS_BLOCK_SIZE : MAX_BLOCK_SIZE, storeBlockSize);
+            long size = Math.min(max, Long.highestOneBit(numBytes - 1) << 1);
+            return (int) ( (size + storeBlockSize - 1) / storeBlockSize * storeBlockSize);
+        };
+    }
+
+    // the block size of path's file store, or DEFAULT_BLOCK_SIZE if unknown
+    private static int storeBlockSize(Path path) {
+        long blockSize = StoreBlockSizes.of(path);
+        return blockSize > 0 && blockSize <= MAX_BLOCK_SIZE ? (int) blockSize : DEFAULT_BLOCK_SIZE;
+    }
+}
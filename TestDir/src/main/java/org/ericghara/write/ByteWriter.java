@@ -1,5 +1,6 @@
 package org.ericghara.write;
 
+import com.sun.nio.file.ExtendedOpenOption;
 import lombok.NonNull;
 import org.ericghara.core.SizeUnit;
 import org.ericghara.exception.ByteUnderflowException;
@@ -7,27 +8,55 @@ import org.ericghara.exception.FileCreationException;
 import org.ericghara.exception.FileReadException;
 import org.ericghara.exception.WriteFailureException;
 import org.ericghara.write.bytesupplier.ByteSupplier;
+import org.ericghara.write.bytesupplier.RegionAwareByteSupplier;
+import org.ericghara.write.bytesupplier.SeekableByteSupplier;
+import org.ericghara.write.bytesupplier.TransferableByteSupplier;
+import org.ericghara.write.bytesupplier.ZeroByteSupplier;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.NonReadableChannelException;
 import java.nio.channels.SeekableByteChannel;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import static java.lang.String.format;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
 import static java.nio.file.StandardOpenOption.WRITE;
 
 public class ByteWriter {
 
-    private static final int BLOCK_SIZE = 4096;
-
     @NonNull
     private final Path filePath;
+    private final WriteOptions options;
 
     public ByteWriter(Path filePath) {
+        this(filePath, WriteOptions.defaults() );
+    }
+
+    /**
+     * @param filePath absolute path of the file to write
+     * @param options options controlling how the file is written
+     * @throws WriteFailureException if the path is relative
+     */
+    public ByteWriter(Path filePath, @NonNull WriteOptions options) throws WriteFailureException {
         this.filePath = assertValidCreate(filePath);
+        this.options = options;
     }
 
     public long fileSize() throws FileReadException {
@@ -47,7 +76,13 @@ public class ByteWriter {
      *
      * <br><br>
      * <em>Note: </em> the byteSupplier must be able to provide the required number
-     * of bytes.
+     * of bytes.  A {@link SeekableByteSupplier} is first positioned at {@code startPos} and a
+     * {@link RegionAwareByteSupplier} is told the region to be written.  With a {@link ZeroByteSupplier}
+     * any bytes beyond the end of the file are left as a hole.  The {@link WriteOptions#getWriteMode() write mode}
+     * of the options determines how bytes are transferred.  If the options have an
+     * {@link WriteOptions#getExecutor() executor}, a large region from a {@code SeekableByteSupplier} is written in
+     * concurrent chunks, see {@link ByteWriter#modify(long, long, ChunkSupplier)}, unless it is a
+     * {@link TransferableByteSupplier}.
      * <br><br>
      * @param startPos position to write the first byte
      * @param numBytes number of bytes to write
@@ -62,9 +97,40 @@ public class ByteWriter {
                        @NonNull ByteSupplier byteSupplier)
             throws WriteFailureException, IllegalArgumentException {
         assertValidModify(filePath);
+        if (isChunked(numBytes, byteSupplier) ) {
+            validStartPos(startPos);
+            new ChunkedWriteJob(startPos, numBytes, ChunkSupplier.of( (SeekableByteSupplier) byteSupplier),
+                    options.getExecutor() ).write();
+            return;
+        }
         new WriteJob(startPos, numBytes, byteSupplier).write();
     }
 
+    /**
+     * Modifies an existing file, writing bytes in chunks of up to {@link WriteOptions#getChunkSize()} bytes.
+     * Each chunk is written with bytes from its own supplier, obtained from {@code chunks}.  If the
+     * {@link WriteOptions} have an executor, chunks are written concurrently on the executor, otherwise
+     * sequentially.  Chunks are always written with positional channel writes, the
+     * {@link WriteOptions#getWriteMode() write mode} does not apply.
+     * <br><br>
+     * If any chunk fails, the remaining chunks are abandoned and the content of the region is undefined.
+     * <br><br>
+     * @param startPos position to write the first byte
+     * @param numBytes number of bytes to write
+     * @param chunks supplies the bytes of each chunk
+     * @throws WriteFailureException if the file does not exist or if any error occurs while writing
+     * @throws IllegalArgumentException if start block is greater than file size
+     * @see WriteOptions.Builder#setExecutor(Executor)
+     */
+    public void modify(long startPos,
+                       long numBytes,
+                       @NonNull ChunkSupplier chunks)
+            throws WriteFailureException, IllegalArgumentException {
+        assertValidModify(filePath);
+        validStartPos(startPos);
+        new ChunkedWriteJob(startPos, numBytes, chunks, chunkExecutor() ).write();
+    }
+
     /**
      * Modifies an existing file, Writing bytes from {@code ByteSupplier}.
      * The first byte is written to {@code startPos} and the amount of data written
@@ -91,6 +157,25 @@ public class ByteWriter {
         modify(unit.toBytes(startPos), unit.toBytes(numUnits), byteSupplier);
     }
 
+    /**
+     * Modifies an existing file, overwriting the regions of {@code edits} with bytes from {@code byteSupplier}.
+     * Edits are sorted by offset and overlapping or adjacent edits are merged, then all regions are written
+     * through one channel.
+     * <br><br>
+     * @param edits the regions to overwrite
+     * @param byteSupplier byteSupplier of the bytes to be written
+     * @return the regions written
+     * @throws WriteFailureException if the file does not exist or if any error occurs while writing
+     * @throws IllegalArgumentException if a region begins beyond the end of the file
+     * @see WriteSession#modify(EditBatch, ByteSupplier)
+     */
+    public ModifiedRegions modify(@NonNull EditBatch edits, @NonNull ByteSupplier byteSupplier)
+            throws WriteFailureException, IllegalArgumentException {
+        try (var session = open(byteSupplier) ) {
+            return session.modify(edits);
+        }
+    }
+
     /**
      * Reduces a file size by truncating all data beyond {@code newSize}.
      *
@@ -127,31 +212,74 @@ public class ByteWriter {
         if (newSize >= curSize) {
             throw new WriteFailureException("The current file size is no less than newSize");
         }
-        try {
-            var channel = Files.newByteChannel(filePath, WRITE);
+        try (var channel = Files.newByteChannel(filePath, WRITE) ) {
             channel.truncate(newSize);
+            commit(channel, false);
         } catch (IOException e) {
             throw new WriteFailureException("Unable to truncate the file " + filePath, e);
         }
     }
 
+    /**
+     * Opens an existing file for any number of modifications, appends and truncations through one channel.
+     * The session must be closed.
+     * <br><br>
+     * @param byteSupplier byteSupplier of the bytes written by the session, unless another is specified
+     * @return an open session
+     * @throws WriteFailureException if the file does not exist or cannot be opened
+     * @see WriteSession
+     */
+    public WriteSession open(@NonNull ByteSupplier byteSupplier) throws WriteFailureException {
+        assertValidModify(filePath);
+        try {
+            return new WriteSession(this, filePath, newChannel(), byteSupplier);
+        } catch (IOException e) {
+            throw new WriteFailureException("Unable to open ByteChannel", e);
+        }
+    }
+
     /**
      * Creates a new file.  The data written is provided by {@code byteSupplier}.
      * The size of the created file is {@code numBytes}.
      * <br><br>
+     * The file is created, written and closed through a single channel; nothing is checked beforehand,
+     * a missing or unwritable parent directory is reported by the failure to create the file.
+     * <br><br>
      * @param numBytes number of bytes to write
      * @param byteSupplier byteSupplier of the bytes to be written
      * @throws WriteFailureException if any error occurs while writing
      * @throws FileCreationException if the file cannot be created for any reason (e.g. it already exists)
+     * @throws IllegalArgumentException if {@code numBytes} is negative
+     */
+    public void create(long numBytes, @NonNull ByteSupplier byteSupplier)
+            throws FileCreationException, WriteFailureException, IllegalArgumentException {
+        validNumBytes(numBytes);
+        try (SeekableByteChannel channel = createChannel() ) {
+            write(channel, 0, numBytes, byteSupplier);
+            commit(channel, true);
+        } catch (IOException e) {
+            throw new WriteFailureException("Error closing ByteChannel.", e);
+        }
+    }
+
+    /**
+     * Creates a new file, written in chunks.  The size of the created file is {@code numBytes}.
+     * <br><br>
+     * @param numBytes number of bytes to write
+     * @param chunks supplies the bytes of each chunk
+     * @throws WriteFailureException if any error occurs while writing
+     * @throws FileCreationException if the file cannot be created for any reason (e.g. it already exists)
+     * @see ByteWriter#modify(long, long, ChunkSupplier)
      */
-    public void create(long numBytes, ByteSupplier byteSupplier)
+    public void create(long numBytes, @NonNull ChunkSupplier chunks)
             throws FileCreationException, WriteFailureException {
-        try {
-            Files.createFile(filePath);
-        } catch (Exception e) {
-            throw new FileCreationException("Unable to create the file " + filePath, e);
+        validNumBytes(numBytes);
+        try (SeekableByteChannel channel = createChannel() ) {
+            new ChunkedWriteJob(0, numBytes, chunks, chunkExecutor() ).write(channel);
+            commit(channel, true);
+        } catch (IOException e) {
+            throw new WriteFailureException("Error closing ByteChannel.", e);
         }
-        modify(0, numBytes, byteSupplier);
     }
 
     /**
@@ -170,19 +298,178 @@ public class ByteWriter {
         create(sizeB, byteSupplier);
     }
 
-    // absolute, parent exists, parent writeable
+    /**
+     * Creates a new sparse file.  The file is extended to {@code layout.size()} without writing, leaving
+     * a hole, then each island is written with bytes from {@code byteSupplier}.
+     * <br><br>
+     * @param layout the size of the file and the regions containing data
+     * @param byteSupplier byteSupplier of the islands
+     * @throws WriteFailureException if any error occurs while writing
+     * @throws FileCreationException if the file cannot be created for any reason (e.g. it already exists)
+     * @see SparseLayout
+     */
+    public void create(@NonNull SparseLayout layout, @NonNull ByteSupplier byteSupplier)
+            throws FileCreationException, WriteFailureException {
+        try (SeekableByteChannel channel = createChannel() ) {
+            write(channel, 0, layout.size(), new ZeroByteSupplier() );
+            for (SparseLayout.Island island : layout.islands() ) {
+                write(channel, island.offset(), island.numBytes(), byteSupplier);
+            }
+            commit(channel, true);
+        } catch (IOException e) {
+            throw new WriteFailureException("Error closing ByteChannel.", e);
+        }
+    }
+
+    /**
+     * Creates a new file with the content of {@code source}.  The content is copied by
+     * {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel) transferTo}, which the
+     * operating system may serve without copying through user space, e.g. with {@code sendfile}.
+     * <br><br>
+     * @param source the file to copy
+     * @throws WriteFailureException if any error occurs while copying
+     * @throws FileCreationException if {@code source} cannot be read or the file cannot be created for any
+     *                               reason (e.g. it already exists)
+     */
+    public void createCopy(@NonNull Path source) throws FileCreationException, WriteFailureException {
+        FileChannel src;
+        try {
+            src = FileChannel.open(source, READ);
+        } catch (Exception e) {
+            throw new FileCreationException("Unable to read the source file " + source, e);
+        }
+        try (src; SeekableByteChannel channel = createChannel() ) {
+            long size = src.size();
+            long pos = 0;
+            while (pos < size) {
+                long transferred = src.transferTo(pos, size - pos, channel);
+                if (transferred <= 0) {
+                    throw new WriteFailureException(format(
+                            "Copied %d of %d bytes from %s, the source may have been truncated.", pos, size, source) );
+                }
+                pos += transferred;
+            }
+            commit(channel, true);
+        } catch (IOException e) {
+            throw new WriteFailureException("Error writing to file", e);
+        }
+    }
+
+    /**
+     * Creates a hard link to an existing file.  The link and {@code existing} share their content, so modifying
+     * either modifies both; this is only suitable for files that are not modified.  Where hard links are
+     * unsupported the file is created as a copy, see {@link ByteWriter#createCopy(Path)}.
+     * <br><br>
+     * @param existing the file to link to
+     * @throws WriteFailureException if any error occurs while copying
+     * @throws FileCreationException if the link cannot be created for any reason (e.g. it already exists)
+     */
+    public void createLink(@NonNull Path existing) throws FileCreationException, WriteFailureException {
+        try {
+            Files.createLink(filePath, existing);
+        } catch (UnsupportedOperationException e) {
+            createCopy(existing);
+            return;
+        } catch (Exception e) {
+            throw new FileCreationException("Unable to create the link " + filePath, e);
+        }
+        commit(null, true); // only the new directory entry, the content was written with existing
+    }
+
+    // opens a new file, failing if it exists, in place of separately checking, creating and opening it
+    SeekableByteChannel createChannel() throws FileCreationException {
+        try {
+            if (options.getWriteMode() == WriteMode.MAPPED) {
+                return Files.newByteChannel(filePath, CREATE_NEW, READ, WRITE);
+            }
+            return Files.newByteChannel(filePath, CREATE_NEW, WRITE);
+        } catch (Exception e) {
+            throw new FileCreationException("Unable to create the file " + filePath, e);
+        }
+    }
+
+    // forces a written file to storage as the options require, or defers it to their sync group
+    void commit(SeekableByteChannel channel, boolean created) throws WriteFailureException {
+        Durability durability = options.getDurability();
+        if (durability == Durability.NONE) {
+            return;
+        }
+        boolean forceDir = created && durability == Durability.FULL; // the new directory entry
+        if (options.isGroupCommit() ) {
+            options.getSyncGroup().add(filePath, durability);
+            if (forceDir) {
+                options.getSyncGroup().addDirectory(filePath.getParent() );
+            }
+            return;
+        }
+        try {
+            if (channel instanceof FileChannel fileChannel) {
+                fileChannel.force(durability == Durability.FULL);
+            }
+            if (forceDir) {
+                SyncGroup.forceDirectory(filePath.getParent() );
+            }
+        } catch (IOException e) {
+            throw new WriteFailureException("Unable to force the file to storage " + filePath, e);
+        }
+    }
+
+    // writes a region through an open channel, which is left open
+    void write(SeekableByteChannel channel, long startPos, long numBytes, ByteSupplier byteSupplier)
+            throws WriteFailureException, IllegalArgumentException {
+        if (isChunked(numBytes, byteSupplier) && channel instanceof FileChannel fileChannel) {
+            validStartPos(startPos, channelSize(channel) );
+            new ChunkedWriteJob(startPos, numBytes, ChunkSupplier.of( (SeekableByteSupplier) byteSupplier),
+                    options.getExecutor() ).write(fileChannel);
+            return;
+        }
+        new WriteJob(channel, startPos, numBytes, byteSupplier).write();
+    }
+
+    // writes the regions of a batch through an open channel, which is left open
+    ModifiedRegions write(SeekableByteChannel channel, EditBatch edits, ByteSupplier byteSupplier)
+            throws WriteFailureException, IllegalArgumentException {
+        ModifiedRegions regions = edits.coalesce();
+        if (regions.numRegions() > 0) {
+            new EditJob(channel, regions, byteSupplier).write();
+        }
+        return regions;
+    }
+
+    // a READ_WRITE mapping requires a readable channel, a file that is not readable is written without mapping
+    SeekableByteChannel newChannel() throws IOException {
+        if (options.getWriteMode() == WriteMode.MAPPED && Files.isReadable(filePath) ) {
+            return Files.newByteChannel(filePath, READ, WRITE);
+        }
+        return Files.newByteChannel(filePath, WRITE);
+    }
+
+    // a large region from a seekable supplier is written in concurrent chunks if the options have an executor,
+    // zeros are left as holes and transferable suppliers are copied by the kernel instead
+    boolean isChunked(long numBytes, ByteSupplier byteSupplier) {
+        return options.isParallel() && numBytes > options.getChunkSize()
+                && byteSupplier instanceof SeekableByteSupplier && !(byteSupplier instanceof ZeroByteSupplier)
+                && !(byteSupplier instanceof TransferableByteSupplier);
+    }
+
+    Executor chunkExecutor() {
+        return options.isParallel() ? options.getExecutor() : Runnable::run;
+    }
+
+    long channelSize(SeekableByteChannel channel) throws WriteFailureException {
+        try {
+            return channel.size();
+        } catch (IOException e) {
+            throw new WriteFailureException("Unable to read the size of ByteChannel", e);
+        }
+    }
+
+    // absolute, the parent directory is not checked, failures to create or open the file are reported instead
     Path assertValidCreate(Path path) throws WriteFailureException {
         if (!path.isAbsolute() ) {
             throw new WriteFailureException("The provided path is a relative file path.  " +
                     "Provide an absolute path when creating the File/Path. " + path);
         }
-        Path parent = path.getParent();
-        if (!Files.isDirectory(parent) ) {
-            throw new WriteFailureException(format("Invalid path, the parent directory does not exist: %s.", path) );
-        }
-        if (!Files.isWritable(parent) ) {
-            throw new WriteFailureException("Insufficient to permissions to write to the parent folder: " + parent);
-        }
         return path;
     }
 
@@ -196,41 +483,98 @@ public class ByteWriter {
         throw new WriteFailureException("Invalid path " + path);
     }
 
+    long validNumBytes(long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("Received a negative numBytes.");
+        }
+        return bytes;
+    }
+
+    int validBlockSize(int blockSize) throws IllegalStateException {
+        if (blockSize < 1) {
+            throw new IllegalStateException("The BlockSizePolicy chose a non-positive block size: " + blockSize);
+        }
+        return blockSize;
+    }
+
+    void validStartPos(long startPos) throws IllegalArgumentException {
+        validStartPos(startPos, fileSize() );
+    }
+
+    void validStartPos(long startPos, long fileSize) throws IllegalArgumentException {
+        if (startPos > fileSize) {
+            throw new IllegalArgumentException(format(
+                    "Start position: %d is greater than the file size: %d",
+                    startPos, fileSize) );
+        }
+        if (startPos < 0) {
+            throw new IllegalArgumentException("Received a negative start position");
+        }
+    }
+
+    // larger regions are mapped in several parts, a MappedByteBuffer is limited to Integer.MAX_VALUE bytes
+    static final long MAX_MAPPED_REGION = 256 * 1024 * 1024;
+
     class WriteJob implements Closeable {
 
+        private final long startPos;
         private final long numBytes;
         private final ByteSupplier supplier;
         private final SeekableByteChannel channel;
+        private final boolean ownsChannel; // closed with this job
+        private final int blockSize;
         private ByteBuffer buffer;
 
         WriteJob(long startPos, long numBytes, ByteSupplier supplier)
             throws WriteFailureException, IllegalArgumentException {
+            this(null, startPos, numBytes, supplier);
+        }
+
+        // writes through channel, which is left open, or through a channel of its own if channel is null
+        WriteJob(SeekableByteChannel channel, long startPos, long numBytes, ByteSupplier supplier)
+            throws WriteFailureException, IllegalArgumentException {
+            this.startPos = startPos;
             this.numBytes = validNumBytes(numBytes);
             this.supplier = supplier;
-            channel = openChannel(startPos);
-            buffer = initBuffer();
+            blockSize = validBlockSize(options.getBlockSizePolicy()
+                                              .blockSize(filePath, numBytes) );
+            ownsChannel = Objects.isNull(channel);
+            this.channel = ownsChannel ? openChannel(startPos) : positionChannel(channel, startPos);
+            if (supplier instanceof SeekableByteSupplier seekable) {
+                seekable.position(startPos);
+            }
+            if (supplier instanceof RegionAwareByteSupplier regionAware) {
+                regionAware.beginRegion(startPos, numBytes);
+            }
+            buffer = options.getBufferPool()
+                            .acquire(blockSize);
         }
 
         public void close() throws WriteFailureException {
             try {
-                channel.close();
+                if (ownsChannel) {
+                    channel.close();
+                }
             } catch (IOException e) {
                 throw new WriteFailureException("Error closing ByteChannel.", e);
+            } finally {
+                if (Objects.nonNull(buffer) ) {
+                    options.getBufferPool().release(buffer);
+                }
+                buffer = null;
             }
-            buffer = null;
         }
 
         void write() throws WriteFailureException {
             try (this) {
-                long remain = numBytes;
-                while (remain >= BLOCK_SIZE) {
-                    completeFill();
-                    int written = channel.write(buffer);
-                    remain -= written;
+                writeRegion();
+                if (ownsChannel) {
+                    commit(channel, false);
                 }
-                partialFill( (int) remain);
-                channel.write(buffer);
             } catch (Exception e) {
+                if (e instanceof WriteFailureException writeFailure) {
+                    throw writeFailure;
+                }
                 if (e instanceof IOException){
                     throw new WriteFailureException("Error writing to file", e);
                 }
@@ -243,39 +587,300 @@ public class ByteWriter {
             }
         }
 
-        // Returns ByteBuffer with position set to BLOCK_SIZE (ie hasRemaining = false);
-        ByteBuffer initBuffer() {
-            var buffer = ByteBuffer.allocateDirect(BLOCK_SIZE);
-            buffer.position(BLOCK_SIZE);
-            return buffer;
+        void writeRegion() throws Exception {
+            if (supplier instanceof TransferableByteSupplier transferable) {
+                transfer(transferable);
+                return;
+            }
+            if (supplier instanceof ZeroByteSupplier) {
+                writeZeros();
+                return;
+            }
+            if (options.getWriteMode() == WriteMode.MAPPED && writeMapped() ) {
+                return;
+            }
+            if (options.getWriteMode() == WriteMode.PIPELINED && numBytes > blockSize) {
+                writePipelined();
+                return;
+            }
+            if (options.getWriteMode() == WriteMode.DIRECT && writeDirect() ) {
+                return;
+            }
+            writeBlocks(numBytes);
+        }
+
+        // writes directly from the supplier to the channel, bypassing the buffer
+        void transfer(TransferableByteSupplier transferable) throws IOException, ByteUnderflowException {
+            if (transferable.transferTo(channel, numBytes) < numBytes) {
+                throw new ByteUnderflowException("The ByteSupplier could not supply the requested number of bytes.");
+            }
         }
 
-        // fills buffer from current position to end
-        void fillBuffer() {
-            while (buffer.hasRemaining() ) {
-                var b = supplier.getAsByte();
-                buffer.put(b);
+        // overwrites existing bytes with zeros and extends the file with a hole
+        void writeZeros() throws IOException {
+            long end = startPos + numBytes;
+            long fileSize = channel.size();
+            long remain = Math.min(end, fileSize) - startPos;
+            buffer.clear();
+            supplier.fill(buffer);
+            while (remain > 0) {
+                int len = (int) Math.min(remain, blockSize);
+                buffer.clear()
+                      .limit(len);
+                writeFully(buffer);
+                remain -= len;
+            }
+            if (end > fileSize) {
+                channel.position(end - 1);
+                channel.write(ByteBuffer.allocate(1) );
+            }
+        }
+
+        // writes numBytes from the channel's position, one block at a time
+        void writeBlocks(long numBytes) throws IOException, ByteUnderflowException {
+            long remain = numBytes;
+            while (remain > 0) {
+                int len = (int) Math.min(remain, blockSize);
+                buffer.clear()
+                      .limit(len);
+                fillBuffer(buffer);
+                buffer.flip();
+                writeFully(buffer);
+                remain -= len;
+            }
+        }
+
+        // writes the aligned middle of the region with O_DIRECT and its unaligned head and tail through the
+        // channel, returns false if direct I/O is unsupported
+        boolean writeDirect() throws IOException, ByteUnderflowException {
+            int alignment = directAlignment();
+            if (alignment < 1) {
+                return false;
+            }
+            long end = startPos + numBytes;
+            long alignedStart = (startPos + alignment - 1) / alignment * alignment;
+            long alignedEnd = end / alignment * alignment;
+            if (alignedStart >= alignedEnd) {
+                return false;
+            }
+            FileChannel direct;
+            try {
+                direct = FileChannel.open(filePath, WRITE, ExtendedOpenOption.DIRECT);
+            } catch (IOException | UnsupportedOperationException e) {
+                return false;
+            }
+            int directBlockSize = (int) Math.min( (long) blockSize + alignment - 1, Integer.MAX_VALUE - alignment)
+                    / alignment * alignment;
+            ByteBuffer pooled = options.getBufferPool()
+                                       .acquire(directBlockSize + alignment);
+            try (direct) {
+                writeBlocks(alignedStart - startPos);
+                ByteBuffer aligned = pooled.alignedSlice(alignment);
+                boolean useDirect = true;
+                boolean written = false;
+                long pos = alignedStart;
+                while (pos < alignedEnd) {
+                    int len = (int) Math.min(alignedEnd - pos, directBlockSize);
+                    aligned.clear()
+                           .limit(len);
+                    fillBuffer(aligned);
+                    aligned.flip();
+                    if (useDirect) {
+                        try {
+                            while (aligned.hasRemaining() ) {
+                                direct.write(aligned, pos + aligned.position() );
+                            }
+                            written = true;
+                        } catch (IOException e) {
+                            if (written) {
+                                throw e;
+                            }
+                            // rejected by the filesystem (e.g. EINVAL), write the rest through the channel
+                            useDirect = false;
+                            aligned.rewind();
+                        }
+                    }
+                    if (!useDirect) {
+                        channel.position(pos);
+                        writeFully(aligned);
+                    }
+                    pos += len;
+                }
+            } finally {
+                options.getBufferPool().release(pooled);
+            }
+            channel.position(alignedEnd);
+            writeBlocks(end - alignedEnd);
+            return true;
+        }
+
+        // the file store's block size, or 0 if direct I/O is unsupported
+        int directAlignment() {
+            if (!filePath.getFileSystem().equals(FileSystems.getDefault() ) ) {
+                return 0;
+            }
+            long blockSize = StoreBlockSizes.of(filePath);
+            return blockSize <= DirectBufferPool.MAX_SIZE ? (int) blockSize : 0;
+        }
+
+        // a producer thread fills buffers while this thread writes the previously filled buffers
+        void writePipelined() throws Exception {
+            var free = new ArrayBlockingQueue<ByteBuffer>(WriteMode.PIPELINE_DEPTH);
+            var filled = new ArrayBlockingQueue<ByteBuffer>(WriteMode.PIPELINE_DEPTH + 1);
+            free.add(buffer);
+            for (int i = 1; i < WriteMode.PIPELINE_DEPTH; i++) {
+                free.add(options.getBufferPool()
+                                .acquire(blockSize) );
+            }
+            var producer = new Producer(free, filled);
+            producer.start();
+            try {
+                long remain = numBytes;
+                while (remain > 0) {
+                    ByteBuffer next = filled.take();
+                    if (next == Producer.FAILED) {
+                        throw producer.failure();
+                    }
+                    remain -= next.remaining();
+                    try {
+                        writeFully(next);
+                    } finally {
+                        free.add(next); // never full, next was taken from the buffers it holds
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw e;
+            } finally {
+                producer.interrupt();
+                joinUninterruptibly(producer);
+                buffer = null; // released below with the other buffers
+                for (var queue : List.of(free, filled) ) {
+                    for (ByteBuffer b : queue) {
+                        if (b != Producer.FAILED) {
+                            options.getBufferPool().release(b);
+                        }
+                    }
+                }
+            }
+        }
+
+        // the buffers are only released once the producer has stopped using them
+        void joinUninterruptibly(Thread thread) {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    thread.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        class Producer extends Thread {
+
+            // signals that the producer failed
+            static final ByteBuffer FAILED = ByteBuffer.allocate(0);
+
+            private final BlockingQueue<ByteBuffer> free;
+            private final BlockingQueue<ByteBuffer> filled;
+            private volatile Throwable failure;
+
+            Producer(BlockingQueue<ByteBuffer> free, BlockingQueue<ByteBuffer> filled) {
+                super("ByteWriter-producer");
+                setDaemon(true);
+                this.free = free;
+                this.filled = filled;
+            }
+
+            @Override
+            public void run() {
+                long remain = numBytes;
+                try {
+                    while (remain > 0) {
+                        ByteBuffer next = free.take();
+                        int len = (int) Math.min(remain, blockSize);
+                        next.clear()
+                            .limit(len);
+                        try {
+                            fillBuffer(next);
+                        } catch (Throwable e) {
+                            free.add(next);
+                            throw e;
+                        }
+                        filled.add(next.flip() );
+                        remain -= len;
+                    }
+                } catch (InterruptedException e) {
+                    // the writer stopped
+                } catch (Throwable e) {
+                    failure = e;
+                    filled.add(FAILED);
+                }
+            }
+
+            Exception failure() {
+                if (failure instanceof Error error) {
+                    throw error;
+                }
+                return (Exception) failure;
+            }
+        }
+
+        // fills mapped regions directly from the supplier, returns false if mapping is unsupported
+        boolean writeMapped() throws IOException, ByteUnderflowException {
+            if (numBytes < WriteMode.MIN_MAPPED_SIZE || !(channel instanceof FileChannel fileChannel) ) {
+                return false;
             }
+            long pos = startPos;
+            long end = startPos + numBytes;
+            while (pos < end) {
+                long len = Math.min(end - pos, MAX_MAPPED_REGION);
+                MappedByteBuffer mapped;
+                try {
+                    mapped = fileChannel.map(FileChannel.MapMode.READ_WRITE, pos, len);
+                } catch (UnsupportedOperationException | NonReadableChannelException e) {
+                    if (pos == startPos) {
+                        return false;
+                    }
+                    throw e;
+                }
+                try {
+                    if (supplier.fill(mapped) < len) {
+                        throw new ByteUnderflowException("The ByteSupplier could not fill the mapped region.");
+                    }
+                } finally {
+                    Unmapper.unmap(mapped);
+                }
+                pos += len;
+            }
+            return true;
         }
 
-        void completeFill() {
-            buffer.rewind();
-            fillBuffer();
-            buffer.rewind();
+        // fills buffer from current position to limit
+        void fillBuffer(ByteBuffer buffer) throws ByteUnderflowException {
+            int expected = buffer.remaining();
+            if (supplier.fill(buffer) < expected) {
+                throw new ByteUnderflowException("The ByteSupplier could not fill the buffer.");
+            }
         }
 
-        void partialFill(int remain) {
-            buffer.position( BLOCK_SIZE - remain);
-            buffer.mark();
-            fillBuffer();
-            buffer.reset();
+        // a channel may write fewer bytes than requested
+        void writeFully(ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining() ) {
+                channel.write(buffer);
+            }
         }
 
         SeekableByteChannel openChannel(long startPos)
                 throws WriteFailureException, IllegalArgumentException {
             validStartPos(startPos);
             try {
-                var channel = Files.newByteChannel(filePath, WRITE);
+                var channel = newChannel();
                 channel.position(startPos);
                 return channel;
             } catch (IOException e) {
@@ -283,22 +888,207 @@ public class ByteWriter {
             }
         }
 
-        long validNumBytes(long bytes) {
-            if (bytes < 0) {
-                throw new IllegalArgumentException("Received a negative numBytes.");
+        SeekableByteChannel positionChannel(SeekableByteChannel channel, long startPos)
+                throws WriteFailureException, IllegalArgumentException {
+            validStartPos(startPos, channelSize(channel) );
+            try {
+                return channel.position(startPos);
+            } catch (IOException e) {
+                throw new WriteFailureException("Unable to position ByteChannel", e);
+            }
+        }
+    }
+
+    // writes many regions with one buffer, by positional writes where the channel supports them
+    class EditJob {
+
+        private final SeekableByteChannel channel;
+        private final List<ModifiedRegions.Region> regions;
+        private final ByteSupplier supplier;
+        private final int blockSize;
+
+        EditJob(SeekableByteChannel channel, ModifiedRegions regions, ByteSupplier supplier)
+                throws WriteFailureException, IllegalArgumentException {
+            this.channel = channel;
+            this.regions = regions.regions();
+            this.supplier = supplier;
+            // every region must begin within the file as extended by the preceding regions
+            long size = channelSize(channel);
+            long maxBytes = 0;
+            for (ModifiedRegions.Region region : this.regions) {
+                validStartPos(region.offset(), size);
+                size = Math.max(size, region.end() );
+                maxBytes = Math.max(maxBytes, region.numBytes() );
+            }
+            blockSize = validBlockSize(options.getBlockSizePolicy()
+                                              .blockSize(filePath, maxBytes) );
+        }
+
+        void write() throws WriteFailureException {
+            ByteBuffer buffer = options.getBufferPool()
+                                       .acquire(blockSize);
+            try {
+                for (ModifiedRegions.Region region : regions) {
+                    writeRegion(region, buffer);
+                }
+            } catch (IOException e) {
+                throw new WriteFailureException("Error writing to file", e);
+            } catch (ByteUnderflowException e) {
+                throw new WriteFailureException("Empty buffer", e);
+            } catch (RuntimeException e) {
+                throw new WriteFailureException("Unknown exception, see stacktrace", e);
+            } finally {
+                options.getBufferPool().release(buffer);
+            }
+        }
+
+        void writeRegion(ModifiedRegions.Region region, ByteBuffer buffer) throws IOException, ByteUnderflowException {
+            if (supplier instanceof SeekableByteSupplier seekable) {
+                seekable.position(region.offset() );
+            }
+            if (supplier instanceof RegionAwareByteSupplier regionAware) {
+                regionAware.beginRegion(region.offset(), region.numBytes() );
+            }
+            long pos = region.offset();
+            while (pos < region.end() ) {
+                int len = (int) Math.min(region.end() - pos, blockSize);
+                buffer.clear()
+                      .limit(len);
+                if (supplier.fill(buffer) < len) {
+                    throw new ByteUnderflowException("The ByteSupplier could not fill the buffer.");
+                }
+                buffer.flip();
+                if (channel instanceof FileChannel fileChannel) {
+                    while (buffer.hasRemaining() ) {
+                        fileChannel.write(buffer, pos + buffer.position() );
+                    }
+                } else {
+                    channel.position(pos);
+                    while (buffer.hasRemaining() ) {
+                        channel.write(buffer);
+                    }
+                }
+                pos += len;
+            }
+        }
+    }
+
+    class ChunkedWriteJob {
+
+        private final long startPos;
+        private final long numBytes;
+        private final ChunkSupplier chunks;
+        private final Executor executor;
+        private final int blockSize;
+        private volatile boolean failed = false; // stops the remaining chunks after a failure
+
+        ChunkedWriteJob(long startPos, long numBytes, ChunkSupplier chunks, Executor executor)
+                throws IllegalArgumentException {
+            this.startPos = startPos;
+            this.numBytes = validNumBytes(numBytes);
+            this.chunks = chunks;
+            this.executor = executor;
+            blockSize = validBlockSize(options.getBlockSizePolicy()
+                                              .blockSize(filePath, Math.min(numBytes, options.getChunkSize() ) ) );
+        }
+
+        void write() throws WriteFailureException {
+            try (SeekableByteChannel channel = Files.newByteChannel(filePath, WRITE) ) {
+                write(channel);
+                commit(channel, false);
+            } catch (IOException e) {
+                throw new WriteFailureException("Unable to open ByteChannel", e);
+            }
+        }
+
+        // writes through channel, which is left open.  Positional writes require a FileChannel, through any other
+        // channel the chunks are written in order on the calling thread.
+        void write(SeekableByteChannel channel) throws WriteFailureException {
+            if (channel instanceof FileChannel fileChannel) {
+                writeConcurrently(fileChannel);
+                return;
+            }
+            long chunkSize = options.getChunkSize();
+            long end = startPos + numBytes;
+            for (long pos = startPos; pos < end; pos += chunkSize) {
+                long len = Math.min(chunkSize, end - pos);
+                new WriteJob(channel, pos, len, chunks.forChunk(pos, len) ).write();
+            }
+        }
+
+        void writeConcurrently(FileChannel channel) throws WriteFailureException {
+            List<CompletableFuture<Void>> tasks = new ArrayList<>();
+            long chunkSize = options.getChunkSize();
+            long end = startPos + numBytes;
+            try {
+                for (long pos = startPos; pos < end && !failed; pos += chunkSize) {
+                    long chunkPos = pos;
+                    long len = Math.min(chunkSize, end - pos);
+                    tasks.add(CompletableFuture.runAsync(() -> writeChunk(channel, chunkPos, len), executor) );
+                }
+            } catch (RuntimeException e) {
+                failed = true;
+                tasks.add(CompletableFuture.failedFuture(e) );
+            }
+            // chunks must complete before the channel is closed or reused
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new) )
+                             .handle( (v, e) -> null)
+                             .join();
+            for (var task : tasks) {
+                Throwable failure = task.handle( (v, e) -> e).join();
+                if (Objects.nonNull(failure) ) {
+                    throw chunkFailure(failure instanceof CompletionException ? failure.getCause() : failure);
+                }
+            }
+        }
+
+        void writeChunk(FileChannel channel, long position, long len) {
+            if (failed) {
+                return;
+            }
+            ByteBuffer buffer = null;
+            try {
+                ByteSupplier supplier = chunks.forChunk(position, len);
+                if (supplier instanceof RegionAwareByteSupplier regionAware) {
+                    regionAware.beginRegion(position, len);
+                }
+                buffer = options.getBufferPool()
+                                .acquire(blockSize);
+                long pos = position;
+                long end = position + len;
+                while (pos < end && !failed) {
+                    int n = (int) Math.min(end - pos, blockSize);
+                    buffer.clear()
+                          .limit(n);
+                    if (supplier.fill(buffer) < n) {
+                        throw new ByteUnderflowException("The ByteSupplier could not fill the buffer.");
+                    }
+                    buffer.flip();
+                    while (buffer.hasRemaining() ) {
+                        pos += channel.write(buffer, pos);
+                    }
+                }
+            } catch (IOException e) {
+                failed = true;
+                throw new UncheckedIOException(e);
+            } catch (RuntimeException e) {
+                failed = true;
+                throw e;
+            } finally {
+                if (Objects.nonNull(buffer) ) {
+                    options.getBufferPool().release(buffer);
+                }
             }
-            return bytes;
         }
 
-        void validStartPos(long startPos) throws IllegalArgumentException {
-            if (startPos > fileSize() ) {
-                throw new IllegalArgumentException(format(
-                        "Start position: %d is greater than the file size: %d",
-                        startPos, fileSize() ) );
+        WriteFailureException chunkFailure(Throwable cause) {
+            if (cause instanceof UncheckedIOException) {
+                return new WriteFailureException("Error writing to file", cause.getCause() );
             }
-            if (startPos < 0) {
-                throw new IllegalArgumentException("Received a negative start position");
+            if (cause instanceof ByteUnderflowException) {
+                return new WriteFailureException("Empty buffer", cause);
             }
+            return new WriteFailureException("Unknown exception, see stacktrace", cause);
         }
     }
 }
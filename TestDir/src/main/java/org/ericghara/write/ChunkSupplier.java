@@ -0,0 +1,59 @@
+package org.ericghara.write;
+
+import lombok.NonNull;
+import org.ericghara.exception.ByteUnderflowException;
+import org.ericghara.write.bytesupplier.ByteSupplier;
+import org.ericghara.write.bytesupplier.SeekableByteSupplier;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Supplies the bytes of one chunk of a region written in chunks, see
+ * {@link ByteWriter#modify(long, long, ChunkSupplier)}.  Chunks may be written concurrently, so each call
+ * must return a supplier that is not shared with another chunk.
+ * <br><br>
+ * A supplier derived from the chunk position makes the content independent of how a region is divided into
+ * chunks, for example:
+ * <pre>
+ *     ChunkSupplier.of(new KeyedRandomByteSupplier(key) )
+ * </pre>
+ */
+@FunctionalInterface
+public interface ChunkSupplier {
+
+    /**
+     * @param position the file position of the first byte of the chunk
+     * @param numBytes the length of the chunk
+     * @return a supplier of at least {@code numBytes} bytes, used by a single thread
+     */
+    ByteSupplier forChunk(long position, long numBytes);
+
+    /**
+     * Chunks supplied by {@code supplier}, using {@link SeekableByteSupplier#fill(ByteBuffer, long)}, so the
+     * content at every file position is the byte {@code supplier} supplies at that position.
+     *
+     * @param supplier a supplier safe to read concurrently at different positions
+     * @return a chunk supplier
+     */
+    static ChunkSupplier of(@NonNull SeekableByteSupplier supplier) {
+        return (position, numBytes) -> new ByteSupplier() {
+            private long next = position;
+
+            @Override
+            public byte getAsByte() throws ByteUnderflowException {
+                var b = ByteBuffer.allocate(1);
+                if (fill(b) < 1) {
+                    throw new ByteUnderflowException("There are no remaining bytes to supply");
+                }
+                return b.get(0);
+            }
+
+            @Override
+            public int fill(ByteBuffer dst) {
+                int n = supplier.fill(dst, next);
+                next += n;
+                return n;
+            }
+        };
+    }
+}
@@ -0,0 +1,199 @@
+package org.ericghara.write;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A pool of reusable direct {@link ByteBuffer}s.  Direct buffers are slow to allocate and are only freed
+ * by the garbage collector, so allocating one per write churns native memory.
+ * <br><br>
+ * Buffer capacities are rounded up to a power of two size class, from {@link DirectBufferPool#MIN_SIZE}
+ * to {@link DirectBufferPool#MAX_SIZE}; larger buffers are allocated but never pooled.  Each thread caches
+ * the most recently released buffer of each size class, so a thread repeatedly writing files does not
+ * contend with other threads.  Other released buffers are returned to a shared pool.
+ * <br><br>
+ * The buffers held by the pool, in the shared pool and in the caches of all threads, total at most
+ * {@code maxBytes}, however many threads use the pool.  Buffers released when the pool is full are left to the
+ * garbage collector, after the caches of threads which have terminated are reclaimed.  Buffers in use are
+ * not counted.
+ */
+public class DirectBufferPool {
+
+    /**
+     * The smallest buffer capacity.
+     */
+    public static final int MIN_SIZE = 4096;
+
+    /**
+     * The largest pooled buffer capacity.
+     */
+    public static final int MAX_SIZE = 16 * 1024 * 1024;
+
+    private static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+    private static final int MIN_SHIFT = Integer.numberOfTrailingZeros(MIN_SIZE);
+    private static final int NUM_CLASSES = Integer.numberOfTrailingZeros(MAX_SIZE) - MIN_SHIFT + 1;
+
+    private static final DirectBufferPool SHARED = new DirectBufferPool(DEFAULT_MAX_BYTES);
+
+    /**
+     * Pool usage.
+     *
+     * @param hits acquisitions served by a pooled buffer
+     * @param misses acquisitions that allocated a new buffer
+     * @param bytesHeld capacity of the buffers held by the pool, including those cached by threads
+     */
+    public record Stats(long hits, long misses, long bytesHeld) {}
+
+    private final long maxBytes;
+    private final Map<Thread, ByteBuffer[]> caches = new ConcurrentHashMap<>(); // to reclaim those of dead threads
+    private final ThreadLocal<ByteBuffer[]> cache = ThreadLocal.withInitial(this::newCache);
+    private final Queue<ByteBuffer>[] shared;
+    private final AtomicLong bytesHeld = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param maxBytes the maximum capacity of all buffers held by the pool, including those cached by threads
+     * @throws IllegalArgumentException if {@code maxBytes} is negative
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public DirectBufferPool(long maxBytes) throws IllegalArgumentException {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Received a negative maxBytes.");
+        }
+        this.maxBytes = maxBytes;
+        this.shared = new Queue[NUM_CLASSES];
+        for (int i = 0; i < NUM_CLASSES; i++) {
+            shared[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    /**
+     * The pool used by {@link ByteWriter} unless another is specified.  It holds at most 64 MB.
+     *
+     * @return the shared pool
+     */
+    public static DirectBufferPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Acquires a cleared direct buffer.  The buffer should be returned with
+     * {@link DirectBufferPool#release(ByteBuffer)} and not used afterwards.
+     *
+     * @param minCapacity the minimum capacity
+     * @return a buffer with a capacity of at least {@code minCapacity}, rounded up to its size class
+     * @throws IllegalArgumentException if {@code minCapacity} is negative
+     */
+    public ByteBuffer acquire(int minCapacity) throws IllegalArgumentException {
+        if (minCapacity < 0) {
+            throw new IllegalArgumentException("Received a negative capacity.");
+        }
+        if (minCapacity > MAX_SIZE) {
+            misses.increment();
+            return ByteBuffer.allocateDirect(minCapacity);
+        }
+        int sizeClass = sizeClass(minCapacity);
+        ByteBuffer[] local = cache.get();
+        ByteBuffer buffer = local[sizeClass];
+        if (Objects.nonNull(buffer) ) {
+            local[sizeClass] = null;
+        } else {
+            buffer = shared[sizeClass].poll();
+        }
+        if (Objects.nonNull(buffer) ) {
+            bytesHeld.addAndGet(-buffer.capacity() );
+        } else {
+            misses.increment();
+            return ByteBuffer.allocateDirect(MIN_SIZE << sizeClass);
+        }
+        hits.increment();
+        return buffer.clear()
+                     .order(ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * Returns a buffer acquired from this pool.
+     *
+     * @param buffer the buffer, which must not be used afterwards
+     */
+    public void release(ByteBuffer buffer) {
+        int capacity = buffer.capacity();
+        if (!buffer.isDirect() || capacity < MIN_SIZE || capacity > MAX_SIZE || Integer.bitCount(capacity) != 1) {
+            return; // not from this pool
+        }
+        if (!reserve(capacity) ) {
+            return; // pool is full
+        }
+        int sizeClass = sizeClass(capacity);
+        ByteBuffer[] local = cache.get();
+        if (Objects.isNull(local[sizeClass]) ) {
+            local[sizeClass] = buffer;
+        } else {
+            shared[sizeClass].offer(buffer);
+        }
+    }
+
+    /**
+     * @return a snapshot of this pool's usage
+     */
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), bytesHeld.get() );
+    }
+
+    // counts a released buffer against maxBytes, reclaiming the caches of dead threads if the pool is full
+    private boolean reserve(int capacity) {
+        if (bytesHeld.addAndGet(capacity) <= maxBytes) {
+            return true;
+        }
+        bytesHeld.addAndGet(-capacity);
+        if (!reclaimDeadCaches() ) {
+            return false;
+        }
+        if (bytesHeld.addAndGet(capacity) <= maxBytes) {
+            return true;
+        }
+        bytesHeld.addAndGet(-capacity);
+        return false;
+    }
+
+    // a terminated thread's cache is visible once isAlive() returns false
+    private boolean reclaimDeadCaches() {
+        boolean reclaimed = false;
+        for (Thread thread : caches.keySet() ) {
+            if (thread.isAlive() ) {
+                continue;
+            }
+            ByteBuffer[] dead = caches.remove(thread);
+            if (Objects.isNull(dead) ) {
+                continue;
+            }
+            for (ByteBuffer buffer : dead) {
+                if (Objects.nonNull(buffer) ) {
+                    bytesHeld.addAndGet(-buffer.capacity() );
+                    reclaimed = true;
+                }
+            }
+        }
+        return reclaimed;
+    }
+
+    private ByteBuffer[] newCache() {
+        var local = new ByteBuffer[NUM_CLASSES];
+        caches.put(Thread.currentThread(), local);
+        return local;
+    }
+
+    private static int sizeClass(int capacity) {
+        int size = Math.max(capacity, MIN_SIZE);
+        int shift = Integer.SIZE - Integer.numberOfLeadingZeros(size - 1); // ceil(log2(size))
+        return shift - MIN_SHIFT;
+    }
+}
@@ -0,0 +1,30 @@
+package org.ericghara.write;
+
+/**
+ * How durable a {@link ByteWriter} makes written files before returning, e.g. before a crash-recovery test
+ * kills a process.
+ *
+ * @see WriteOptions.Builder#setDurability(Durability)
+ * @see SyncGroup
+ */
+public enum Durability {
+
+    /**
+     * Written data is left to the operating system to write back, so it may be lost if the system crashes.
+     */
+    NONE,
+
+    /**
+     * Written data is forced to storage with {@link java.nio.channels.FileChannel#force(boolean) force(false)}.
+     * Metadata not needed to read the data back, such as the modification time, may be lost.
+     */
+    DATA,
+
+    /**
+     * Written data and metadata are forced to storage with
+     * {@link java.nio.channels.FileChannel#force(boolean) force(true)}, and the directory of a created file is
+     * forced so its entry survives a crash.  Where directories cannot be opened (e.g. Windows), only the
+     * file is forced.
+     */
+    FULL
+}
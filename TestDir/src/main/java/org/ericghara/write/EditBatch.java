@@ -0,0 +1,165 @@
+package org.ericghara.write;
+
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * A batch of edits, each overwriting a region of a file, for simulating corruption and partial updates.  Edits
+ * may be unordered, adjacent or overlapping.  When the batch is applied edits are sorted by offset and merged
+ * into the disjoint {@link ModifiedRegions} actually written, so each byte is written once however many edits
+ * cover it.
+ * <br><br>
+ * Example, 10,000 random edits of up to 64 bytes anywhere in a 1 MB file:
+ * <pre>
+ *     EditBatch.builder()
+ *              .randomEdits(10_000, SizeUnit.MB.toBytes(BigDecimal.ONE), 64, 42)
+ *              .build();
+ * </pre>
+ *
+ * @see WriteSession#modify(EditBatch)
+ * @see ByteWriter#modify(EditBatch, org.ericghara.write.bytesupplier.ByteSupplier)
+ */
+public class EditBatch {
+
+    /**
+     * A region to overwrite.
+     *
+     * @param offset the position of the first byte
+     * @param numBytes the length of the edit
+     */
+    public record Edit(long offset, long numBytes) {}
+
+    private final List<Edit> edits;
+
+    private EditBatch(List<Edit> edits) {
+        this.edits = List.copyOf(edits);
+    }
+
+    /**
+     * @return a new {@link Builder}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the edits, in the order they were added
+     */
+    public List<Edit> edits() {
+        return edits;
+    }
+
+    /**
+     * Sorts the edits by offset and merges adjacent and overlapping edits.
+     *
+     * @return the regions covered by the edits
+     */
+    public ModifiedRegions coalesce() {
+        List<Edit> sorted = new ArrayList<>(edits);
+        sorted.sort(Comparator.comparingLong(Edit::offset) );
+        var offsets = new long[sorted.size()];
+        var ends = new long[sorted.size()];
+        int n = 0;
+        for (Edit edit : sorted) {
+            long end = edit.offset() + edit.numBytes();
+            if (n > 0 && edit.offset() <= ends[n - 1]) {
+                ends[n - 1] = Math.max(ends[n - 1], end);
+            } else {
+                offsets[n] = edit.offset();
+                ends[n] = end;
+                n++;
+            }
+        }
+        return new ModifiedRegions(offsets, ends, n);
+    }
+
+    public static class Builder {
+
+        private final List<Edit> edits = new ArrayList<>();
+
+        Builder() {}
+
+        /**
+         * Adds an edit.  Edits of zero bytes are ignored.
+         *
+         * @param offset the position of the first byte
+         * @param numBytes the length of the edit
+         * @return this builder
+         * @throws IllegalArgumentException if {@code offset} or {@code numBytes} is negative
+         */
+        public Builder edit(long offset, long numBytes) throws IllegalArgumentException {
+            if (offset < 0 || numBytes < 0 || offset > Long.MAX_VALUE - numBytes) {
+                throw new IllegalArgumentException(String.format(
+                        "Invalid edit at %d of %d bytes.", offset, numBytes) );
+            }
+            if (numBytes > 0) {
+                edits.add(new Edit(offset, numBytes) );
+            }
+            return this;
+        }
+
+        /**
+         * Adds {@code count} edits drawn from a distribution of offsets and lengths.
+         *
+         * @param count the number of edits
+         * @param offsets supplies the offset of each edit
+         * @param lengths supplies the length of each edit
+         * @return this builder
+         * @throws IllegalArgumentException if {@code count} is negative or any edit is invalid
+         */
+        public Builder edits(int count, @NonNull LongSupplier offsets, @NonNull LongSupplier lengths)
+                throws IllegalArgumentException {
+            if (count < 0) {
+                throw new IllegalArgumentException("Received a negative count.");
+            }
+            for (int i = 0; i < count; i++) {
+                edit(offsets.getAsLong(), lengths.getAsLong() );
+            }
+            return this;
+        }
+
+        /**
+         * Adds {@code count} edits within a file of {@code fileSize} bytes.  Offsets are uniformly distributed
+         * over the file and lengths over {@code [1, maxBytes]}, truncated at the end of the file.  The same
+         * arguments always produce the same edits.
+         *
+         * @param count the number of edits
+         * @param fileSize the size of the file
+         * @param maxBytes the largest length of an edit
+         * @param seed the seed of the edits
+         * @return this builder
+         * @throws IllegalArgumentException if any argument is negative, or edits are requested of an empty file
+         *                                  or with a {@code maxBytes} of zero
+         */
+        public Builder randomEdits(int count, long fileSize, long maxBytes, long seed)
+                throws IllegalArgumentException {
+            if (count < 0 || fileSize < 0 || maxBytes < 0) {
+                throw new IllegalArgumentException("Received a negative count, fileSize or maxBytes.");
+            }
+            if (count == 0) {
+                return this;
+            }
+            if (fileSize == 0 || maxBytes == 0) {
+                throw new IllegalArgumentException("Received a fileSize or maxBytes of zero.");
+            }
+            var random = new SplittableRandom(seed);
+            for (int i = 0; i < count; i++) {
+                long offset = random.nextLong(fileSize);
+                edit(offset, Math.min(random.nextLong(maxBytes) + 1, fileSize - offset) );
+            }
+            return this;
+        }
+
+        /**
+         * @return the batch
+         */
+        public EditBatch build() {
+            return new EditBatch(edits);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.ericghara.write;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The disjoint regions of a file written by an {@link EditBatch}, ordered by offset.  A test can check that
+ * recovery code restored exactly these bytes.  Regions are held as two arrays of positions, so a record of
+ * many thousands of edits stays small.
+ *
+ * @see EditBatch#coalesce()
+ */
+public class ModifiedRegions {
+
+    /**
+     * A written region.
+     *
+     * @param offset the position of the first byte
+     * @param numBytes the length of the region
+     */
+    public record Region(long offset, long numBytes) {
+
+        /**
+         * @return the position after the last byte
+         */
+        public long end() {
+            return offset + numBytes;
+        }
+    }
+
+    private final long[] offsets;
+    private final long[] ends;
+
+    ModifiedRegions(long[] offsets, long[] ends, int numRegions) {
+        this.offsets = Arrays.copyOf(offsets, numRegions);
+        this.ends = Arrays.copyOf(ends, numRegions);
+    }
+
+    /**
+     * @return the regions, ordered by offset
+     */
+    public List<Region> regions() {
+        return new AbstractList<>() {
+            @Override
+            public Region get(int index) {
+                return new Region(offsets[index], ends[index] - offsets[index]);
+            }
+
+            @Override
+            public int size() {
+                return offsets.length;
+            }
+        };
+    }
+
+    /**
+     * @return the number of regions
+     */
+    public int numRegions() {
+        return offsets.length;
+    }
+
+    /**
+     * @return the total length of the regions
+     */
+    public long numBytes() {
+        long numBytes = 0;
+        for (int i = 0; i < offsets.length; i++) {
+            numBytes += ends[i] - offsets[i];
+        }
+        return numBytes;
+    }
+
+    /**
+     * @param position a file position
+     * @return true if the byte at {@code position} was written
+     */
+    public boolean contains(long position) {
+        int i = Arrays.binarySearch(offsets, position);
+        if (i >= 0) {
+            return true;
+        }
+        int preceding = -i - 2; // the last region beginning before position
+        return preceding >= 0 && position < ends[preceding];
+    }
+
+    @Override
+    public String toString() {
+        return "ModifiedRegions(" + regions() + ")";
+    }
+}
@@ -0,0 +1,154 @@
+package org.ericghara.write;
+
+import lombok.NonNull;
+import org.ericghara.core.SizeUnit;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The layout of a sparse file: a size and a set of non-overlapping islands of data.  Everything outside of an
+ * island is a hole, read as zeros, that takes no space on filesystems supporting sparse files.
+ * <br><br>
+ * Example, a 1 TB file with 1000 random 1 MB islands:
+ * <pre>
+ *     SparseLayout.builder(BigDecimal.ONE, SizeUnit.TB)
+ *                 .randomIslands(1000, SizeUnit.MB.toBytes(BigDecimal.ONE), 42)
+ *                 .build();
+ * </pre>
+ *
+ * @see ByteWriter#create(SparseLayout, org.ericghara.write.bytesupplier.ByteSupplier)
+ */
+public class SparseLayout {
+
+    /**
+     * A region of data.
+     *
+     * @param offset the position of the first byte
+     * @param numBytes the length of the island
+     */
+    public record Island(long offset, long numBytes) {}
+
+    private final long size;
+    private final List<Island> islands;
+
+    private SparseLayout(long size, List<Island> islands) {
+        this.size = size;
+        this.islands = List.copyOf(islands);
+    }
+
+    /**
+     * @param size the size of the file in bytes
+     * @return a new {@link Builder}
+     * @throws IllegalArgumentException if {@code size} is negative
+     */
+    public static Builder builder(long size) throws IllegalArgumentException {
+        return new Builder(size);
+    }
+
+    /**
+     * @param size the size of the file in {@code unit}
+     * @param unit the unit of {@code size}
+     * @return a new {@link Builder}
+     * @throws IllegalArgumentException if {@code size} is negative
+     */
+    public static Builder builder(@NonNull BigDecimal size, @NonNull SizeUnit unit) throws IllegalArgumentException {
+        return new Builder(unit.toBytes(size) );
+    }
+
+    /**
+     * @return the size of the file in bytes
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return the islands, ordered by offset
+     */
+    public List<Island> islands() {
+        return islands;
+    }
+
+    public static class Builder {
+
+        private final long size;
+        private final List<Island> islands = new ArrayList<>();
+
+        Builder(long size) throws IllegalArgumentException {
+            if (size < 0) {
+                throw new IllegalArgumentException("Received a negative size.");
+            }
+            this.size = size;
+        }
+
+        /**
+         * Adds an island of data.
+         *
+         * @param offset the position of the first byte
+         * @param numBytes the length of the island
+         * @return this builder
+         * @throws IllegalArgumentException if the island is not within the file
+         */
+        public Builder island(long offset, long numBytes) throws IllegalArgumentException {
+            if (offset < 0 || numBytes < 0 || offset > size - numBytes) {
+                throw new IllegalArgumentException(String.format(
+                        "The island at %d of %d bytes is not within a file of %d bytes.", offset, numBytes, size) );
+            }
+            if (numBytes > 0) {
+                islands.add(new Island(offset, numBytes) );
+            }
+            return this;
+        }
+
+        /**
+         * Adds {@code count} islands at random offsets.  The file is divided into {@code count} equal slots and
+         * one island is placed at a random offset within each, so islands never overlap.  The same arguments
+         * always produce the same offsets.
+         *
+         * @param count the number of islands
+         * @param numBytes the length of each island
+         * @param seed the seed of the offsets
+         * @return this builder
+         * @throws IllegalArgumentException if {@code count} is negative or the islands do not fit in their slots
+         */
+        public Builder randomIslands(int count, long numBytes, long seed) throws IllegalArgumentException {
+            if (count < 0 || numBytes < 0) {
+                throw new IllegalArgumentException("Received a negative count or numBytes.");
+            }
+            if (count == 0) {
+                return this;
+            }
+            long slot = size / count;
+            if (numBytes > slot) {
+                throw new IllegalArgumentException(String.format(
+                        "%d islands of %d bytes do not fit in a file of %d bytes.", count, numBytes, size) );
+            }
+            var random = new SplittableRandom(seed);
+            for (int i = 0; i < count; i++) {
+                island(i * slot + random.nextLong(slot - numBytes + 1), numBytes);
+            }
+            return this;
+        }
+
+        /**
+         * @return the layout
+         * @throws IllegalArgumentException if any islands overlap
+         */
+        public SparseLayout build() throws IllegalArgumentException {
+            List<Island> sorted = new ArrayList<>(islands);
+            sorted.sort(Comparator.comparingLong(Island::offset) );
+            for (int i = 1; i < sorted.size(); i++) {
+                Island prev = sorted.get(i - 1);
+                if (prev.offset() + prev.numBytes() > sorted.get(i).offset() ) {
+                    throw new IllegalArgumentException("The islands at " + prev.offset() + " and "
+                            + sorted.get(i).offset() + " overlap.");
+                }
+            }
+            return new SparseLayout(size, sorted);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.ericghara.write;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The block sizes of the file stores holding files, cached by parent directory.  Looking up a file store is
+ * costly: on Linux it resolves the path, parses {@code /proc/mounts} and stats every ancestor directory, then
+ * {@code getBlockSize()} adds a {@code statvfs}.  Files written to the same directory share one lookup.
+ */
+final class StoreBlockSizes {
+
+    /**
+     * The most directories cached, the cache is cleared when it is full.
+     */
+    static final int MAX_ENTRIES = 1024;
+
+    private static final Map<Path, Long> SIZES = new ConcurrentHashMap<>();
+
+    private StoreBlockSizes() {}
+
+    /**
+     * @param path a file, which exists
+     * @return the block size of the file store holding {@code path}, or {@code 0} if it is unknown
+     */
+    static long of(Path path) {
+        Path absPath = path.toAbsolutePath();
+        Path dir = Objects.requireNonNullElse(absPath.getParent(), absPath);
+        Long cached = SIZES.get(dir);
+        if (Objects.nonNull(cached) ) {
+            return cached;
+        }
+        long blockSize;
+        try {
+            blockSize = Math.max(0, Files.getFileStore(absPath).getBlockSize() );
+        } catch (IOException | UnsupportedOperationException e) {
+            return 0; // not cached, e.g. the file was deleted
+        }
+        if (SIZES.size() >= MAX_ENTRIES) {
+            SIZES.clear();
+        }
+        SIZES.put(dir, blockSize);
+        return blockSize;
+    }
+}
@@ -0,0 +1,176 @@
+package org.ericghara.write;
+
+import lombok.NonNull;
+import org.ericghara.exception.WriteFailureException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Group commit: files and directories whose durability is deferred by a {@link ByteWriter}, forced to storage
+ * together by {@link SyncGroup#sync()} at the end of a bulk operation.  Forcing each file as it is written
+ * waits for the storage device once per file; forcing many together lets the filesystem combine them, and
+ * a directory containing many created files is forced once.
+ * <br><br>
+ * Files are forced before directories.  With an executor, files are forced concurrently.  A group is safe for
+ * use by multiple threads.
+ * <pre>
+ *     var group = new SyncGroup();
+ *     var options = WriteOptions.builder()
+ *                               .setDurability(Durability.FULL)
+ *                               .setSyncGroup(group)
+ *                               .build();
+ *     ... write many files with options
+ *     group.sync();
+ * </pre>
+ *
+ * @see WriteOptions.Builder#setSyncGroup(SyncGroup)
+ */
+public class SyncGroup {
+
+    private final Map<Path, Durability> files = new ConcurrentHashMap<>();
+    private final Set<Path> dirs = ConcurrentHashMap.newKeySet();
+    private final Executor executor;
+
+    /**
+     * Creates a group forcing files sequentially.
+     */
+    public SyncGroup() {
+        this(Runnable::run);
+    }
+
+    /**
+     * Creates a group forcing files concurrently.
+     *
+     * @param executor runs the forces, e.g. a fixed thread pool
+     */
+    public SyncGroup(@NonNull Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Defers forcing a file.  A file added more than once is forced once, with the greatest durability.
+     *
+     * @param file absolute path of the file
+     * @param durability the durability required
+     */
+    public void add(@NonNull Path file, @NonNull Durability durability) {
+        if (durability != Durability.NONE) {
+            files.merge(file, durability, (a, b) -> a.compareTo(b) >= 0 ? a : b);
+        }
+    }
+
+    /**
+     * Defers forcing a directory, e.g. the parent of a created file or directory.
+     *
+     * @param dir absolute path of the directory
+     */
+    public void addDirectory(@NonNull Path dir) {
+        dirs.add(dir);
+    }
+
+    /**
+     * @return the number of files and directories waiting to be forced
+     */
+    public int pending() {
+        return files.size() + dirs.size();
+    }
+
+    /**
+     * Forces all files, then all directories, added before this call.  Entries are removed as they are taken,
+     * so entries added concurrently are forced by this or the next call.
+     *
+     * @throws WriteFailureException if any file or directory cannot be forced.  The remaining entries are
+     *                               still forced and the first failure is thrown.
+     */
+    public void sync() throws WriteFailureException {
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (Path file : files.keySet() ) {
+            Durability durability = files.remove(file);
+            if (Objects.nonNull(durability) ) {
+                tasks.add(CompletableFuture.runAsync(() -> forceUnchecked(file, durability), executor) );
+            }
+        }
+        Throwable failure = join(tasks);
+        for (Path dir : dirs) {
+            if (dirs.remove(dir) ) {
+                try {
+                    forceDirectory(dir);
+                } catch (IOException e) {
+                    failure = Objects.isNull(failure) ? new UncheckedIOException(e) : failure;
+                }
+            }
+        }
+        if (Objects.nonNull(failure) ) {
+            Throwable cause = failure instanceof UncheckedIOException ? failure.getCause() : failure;
+            throw new WriteFailureException("Unable to force files to storage", cause);
+        }
+    }
+
+    /**
+     * Forces a directory's entries to storage.  Directories that cannot be opened, as on Windows, are skipped.
+     *
+     * @param dir absolute path of the directory
+     * @throws IOException if the directory is opened but cannot be forced
+     */
+    static void forceDirectory(Path dir) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(dir, READ);
+        } catch (IOException | UnsupportedOperationException e) {
+            return;
+        }
+        try (channel) {
+            channel.force(true);
+        }
+    }
+
+    // a file is forced through a read-only channel so read-only fixtures can be synced, Windows only flushes
+    // writable handles, and files that are unreadable or cannot be flushed that way are forced through WRITE
+    private static void forceUnchecked(Path file, Durability durability) {
+        try {
+            try {
+                force(file, durability, READ);
+            } catch (IOException e) {
+                force(file, durability, WRITE);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void force(Path file, Durability durability, StandardOpenOption option) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, option) ) {
+            channel.force(durability == Durability.FULL);
+        }
+    }
+
+    // the first failure of the tasks, or null
+    private static Throwable join(List<CompletableFuture<Void>> tasks) {
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new) )
+                         .handle( (v, e) -> null)
+                         .join();
+        for (var task : tasks) {
+            Throwable failure = task.handle( (v, e) -> e).join();
+            if (Objects.nonNull(failure) ) {
+                return failure instanceof CompletionException ? failure.getCause() : failure;
+            }
+        }
+        return null;
+    }
+}
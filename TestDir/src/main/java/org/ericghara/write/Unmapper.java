@@ -0,0 +1,56 @@
+package org.ericghara.write;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.util.Objects;
+
+/**
+ * Releases a {@link MappedByteBuffer} immediately, instead of when the buffer is garbage collected.  Large
+ * writes map many regions, and until a mapping is released its address space (and on some platforms the
+ * file) remains in use.
+ * <br><br>
+ * The JDK only exposes this through {@code sun.misc.Unsafe#invokeCleaner}, which is looked up reflectively.
+ * If it is unavailable, buffers are left to the garbage collector.
+ */
+final class Unmapper {
+
+    private static final MethodHandle INVOKE_CLEANER = lookupInvokeCleaner();
+
+    private Unmapper() {}
+
+    /**
+     * Unmaps {@code buffer}, which must not be accessed afterwards.
+     *
+     * @param buffer a buffer returned by {@link java.nio.channels.FileChannel#map}
+     */
+    static void unmap(MappedByteBuffer buffer) {
+        if (Objects.isNull(INVOKE_CLEANER) ) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invokeExact( (ByteBuffer) buffer);
+        } catch (Throwable e) {
+            // the mapping is released by the garbage collector instead
+        }
+    }
+
+    // Unsafe#invokeCleaner(ByteBuffer) bound to the Unsafe instance, or null if unavailable
+    private static MethodHandle lookupInvokeCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            Object unsafe = field.get(null);
+            return MethodHandles.lookup()
+                                .findVirtual(unsafeClass, "invokeCleaner",
+                                        MethodType.methodType(void.class, ByteBuffer.class) )
+                                .bindTo(unsafe);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.ericghara.write;
+
+/**
+ * How a {@link ByteWriter} transfers supplied bytes to a file.
+ *
+ * @see WriteOptions.Builder#setWriteMode(WriteMode)
+ */
+public enum WriteMode {
+
+    /**
+     * Bytes are filled into a buffer, which is written to a channel one block at a time.
+     */
+    CHANNEL,
+
+    /**
+     * Regions of at least {@link WriteMode#MIN_MAPPED_SIZE} bytes are mapped into memory and filled
+     * directly by the supplier, avoiding a copy from the buffer to the kernel for every block.  Where the
+     * filesystem does not support mapping (e.g. Jimfs), or the region is smaller, {@link WriteMode#CHANNEL}
+     * is used instead.
+     */
+    MAPPED,
+
+    /**
+     * A producer thread fills buffers from the supplier while the writing thread writes previously filled
+     * buffers, so generating content and writing it overlap.  At most {@link WriteMode#PIPELINE_DEPTH} buffers
+     * are in use; the producer waits when they are all filled.  Regions no larger than one block are written
+     * as in {@link WriteMode#CHANNEL}.  The supplier is only accessed by the producer thread.
+     */
+    PIPELINED,
+
+    /**
+     * Bytes are written with direct I/O ({@code O_DIRECT}), bypassing the operating system's page cache, so
+     * writing large files does not evict other processes' cached data and the written file is not left cached.
+     * Writes are aligned to the file store's block size; the unaligned start and end of a region are written
+     * through the page cache.  Where direct I/O is unsupported (e.g. Jimfs or tmpfs), or the region does not
+     * span an aligned block, {@link WriteMode#CHANNEL} is used instead.
+     *
+     * @see com.sun.nio.file.ExtendedOpenOption#DIRECT
+     */
+    DIRECT;
+
+    /**
+     * The smallest region written by {@link WriteMode#MAPPED}.  Mapping has a fixed cost, so smaller
+     * regions are faster written through a channel.
+     */
+    public static final long MIN_MAPPED_SIZE = 1024 * 1024;
+
+    /**
+     * The number of buffers of a {@link WriteMode#PIPELINED} write.
+     */
+    public static final int PIPELINE_DEPTH = 4;
+}
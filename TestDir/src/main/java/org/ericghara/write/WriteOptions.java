@@ -0,0 +1,180 @@
+package org.ericghara.write;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * Options controlling how a {@link ByteWriter} writes files.  Options are immutable; create them with
+ * {@link WriteOptions#builder()}.
+ */
+@ToString
+public class WriteOptions {
+
+    /**
+     * The chunk size of parallel writes, unless another is specified.
+     */
+    public static final long DEFAULT_CHUNK_SIZE = 64L * 1024 * 1024;
+
+    private static final WriteOptions DEFAULTS = builder().build();
+
+    @Getter
+    private final BlockSizePolicy blockSizePolicy;
+    @Getter
+    private final DirectBufferPool bufferPool;
+    @Getter
+    private final WriteMode writeMode;
+    @Getter
+    private final Executor executor;
+    @Getter
+    private final long chunkSize;
+    @Getter
+    private final Durability durability;
+    @Getter
+    private final SyncGroup syncGroup;
+
+    private WriteOptions(Builder builder) {
+        this.blockSizePolicy = builder.blockSizePolicy;
+        this.bufferPool = builder.bufferPool;
+        this.writeMode = builder.writeMode;
+        this.executor = builder.executor;
+        this.chunkSize = builder.chunkSize;
+        this.durability = builder.durability;
+        this.syncGroup = builder.syncGroup;
+    }
+
+    /**
+     * @return true if an executor has been set and regions are written in concurrent chunks
+     */
+    public boolean isParallel() {
+        return Objects.nonNull(executor);
+    }
+
+    /**
+     * @return true if a sync group has been set and forcing files to storage is deferred to it
+     */
+    public boolean isGroupCommit() {
+        return Objects.nonNull(syncGroup);
+    }
+
+    /**
+     * Adaptive block sizing with the shared buffer pool, writing sequentially through a channel, without
+     * forcing files to storage.
+     *
+     * @return the default options
+     * @see BlockSizePolicy#adaptive()
+     * @see DirectBufferPool#shared()
+     */
+    public static WriteOptions defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * @return a builder initialized with the default options
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @ToString
+    public static class Builder {
+
+        private BlockSizePolicy blockSizePolicy = BlockSizePolicy.adaptive();
+        private DirectBufferPool bufferPool = DirectBufferPool.shared();
+        private WriteMode writeMode = WriteMode.CHANNEL;
+        private Executor executor = null;
+        private long chunkSize = DEFAULT_CHUNK_SIZE;
+        private Durability durability = Durability.NONE;
+        private SyncGroup syncGroup = null;
+
+        Builder() {}
+
+        /**
+         * @param blockSizePolicy chooses the buffer and write size of each write
+         * @return this builder
+         */
+        public Builder setBlockSizePolicy(@NonNull BlockSizePolicy blockSizePolicy) {
+            this.blockSizePolicy = blockSizePolicy;
+            return this;
+        }
+
+        /**
+         * @param bufferPool the source of write buffers
+         * @return this builder
+         */
+        public Builder setBufferPool(@NonNull DirectBufferPool bufferPool) {
+            this.bufferPool = bufferPool;
+            return this;
+        }
+
+        /**
+         * @param writeMode how bytes are transferred to the file
+         * @return this builder
+         */
+        public Builder setWriteMode(@NonNull WriteMode writeMode) {
+            this.writeMode = writeMode;
+            return this;
+        }
+
+        /**
+         * Writes regions larger than the chunk size in chunks, concurrently on {@code executor}.  Each chunk is
+         * written with positional writes to a shared {@link java.nio.channels.FileChannel FileChannel}, from a
+         * {@link org.ericghara.write.bytesupplier.SeekableByteSupplier SeekableByteSupplier} or a
+         * {@link ChunkSupplier}.  Other suppliers, including
+         * {@link org.ericghara.write.bytesupplier.TransferableByteSupplier TransferableByteSupplier}s, which are
+         * copied by the kernel, are written sequentially.  Chunked writes ignore the
+         * {@link Builder#setWriteMode(WriteMode) write mode}: chunks are always written with positional
+         * {@code FileChannel} writes.
+         *
+         * @param executor runs the chunks, e.g. a fixed thread pool with one thread per disk queue
+         * @return this builder
+         * @see ByteWriter#modify(long, long, ChunkSupplier)
+         */
+        public Builder setExecutor(@NonNull Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * @param chunkSize the largest number of bytes written by one task of a parallel write
+         * @return this builder
+         * @throws IllegalArgumentException if {@code chunkSize} is not positive
+         */
+        public Builder setChunkSize(long chunkSize) throws IllegalArgumentException {
+            if (chunkSize < 1) {
+                throw new IllegalArgumentException("Received a non-positive chunkSize.");
+            }
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * @param durability how durable files are made before a write returns
+         * @return this builder
+         */
+        public Builder setDurability(@NonNull Durability durability) {
+            this.durability = durability;
+            return this;
+        }
+
+        /**
+         * Defers forcing written files to storage to {@code syncGroup}, which forces them together when
+         * {@link SyncGroup#sync()} is called.  Without a sync group each file is forced as it is written.
+         *
+         * @param syncGroup collects the files and directories to force
+         * @return this builder
+         * @see WriteOptions.Builder#setDurability(Durability)
+         */
+        public Builder setSyncGroup(@NonNull SyncGroup syncGroup) {
+            this.syncGroup = syncGroup;
+            return this;
+        }
+
+        public WriteOptions build() {
+            return new WriteOptions(this);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package org.ericghara.write;
+
+import lombok.NonNull;
+import org.ericghara.exception.FileReadException;
+import org.ericghara.exception.WriteFailureException;
+import org.ericghara.write.bytesupplier.ByteSupplier;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
+
+/**
+ * An open file, which any number of modifications, appends and truncations are applied to through one
+ * channel.  Opening and closing a channel for each edit dominates the cost of many small edits to the same file.
+ * <br><br>
+ * Sessions are created by {@link ByteWriter#open(ByteSupplier)} and must be closed.  Writes are made as in
+ * {@link ByteWriter#modify(long, long, ByteSupplier)}, with the writer's {@link WriteOptions}.  A session is not
+ * safe for use by multiple threads.
+ * <pre>
+ *     try (var session = new ByteWriter(path).open(supplier) ) {
+ *         session.modify(0, 10);
+ *         session.append(100);
+ *         session.truncate(50);
+ *     }
+ * </pre>
+ */
+public class WriteSession implements Closeable {
+
+    private final ByteWriter writer;
+    private final Path filePath;
+    private final SeekableByteChannel channel;
+    private final ByteSupplier byteSupplier;
+    private boolean modified = false;
+
+    WriteSession(ByteWriter writer, Path filePath, SeekableByteChannel channel, ByteSupplier byteSupplier) {
+        this.writer = writer;
+        this.filePath = filePath;
+        this.channel = channel;
+        this.byteSupplier = byteSupplier;
+    }
+
+    /**
+     * @return the path of the open file
+     */
+    public Path getPath() {
+        return filePath;
+    }
+
+    /**
+     * @return the current size of the file in bytes
+     * @throws FileReadException if the size cannot be read or the session is closed
+     */
+    public long size() throws FileReadException {
+        try {
+            return channel.size();
+        } catch (IOException e) {
+            throw new FileReadException("Error reading file " + filePath, e);
+        }
+    }
+
+    /**
+     * Writes {@code numBytes} bytes from the session's supplier, beginning at {@code startPos}.
+     *
+     * @param startPos position to write the first byte
+     * @param numBytes number of bytes to write
+     * @throws WriteFailureException if any error occurs while writing or the session is closed
+     * @throws IllegalArgumentException if {@code startPos} is negative or greater than the file size
+     * @see ByteWriter#modify(long, long, ByteSupplier)
+     */
+    public void modify(long startPos, long numBytes) throws WriteFailureException, IllegalArgumentException {
+        modify(startPos, numBytes, byteSupplier);
+    }
+
+    /**
+     * Writes {@code numBytes} bytes from {@code byteSupplier}, beginning at {@code startPos}.
+     *
+     * @param startPos position to write the first byte
+     * @param numBytes number of bytes to write
+     * @param byteSupplier byteSupplier of the bytes to be written
+     * @throws WriteFailureException if any error occurs while writing or the session is closed
+     * @throws IllegalArgumentException if {@code startPos} is negative or greater than the file size
+     * @see ByteWriter#modify(long, long, ByteSupplier)
+     */
+    public void modify(long startPos, long numBytes, @NonNull ByteSupplier byteSupplier)
+            throws WriteFailureException, IllegalArgumentException {
+        modified = true;
+        writer.write(channel, startPos, numBytes, byteSupplier);
+    }
+
+    /**
+     * Overwrites the regions of {@code edits} with bytes from the session's supplier.
+     *
+     * @param edits the regions to overwrite
+     * @return the regions written
+     * @throws WriteFailureException if any error occurs while writing or the session is closed
+     * @throws IllegalArgumentException if a region begins beyond the end of the file
+     * @see WriteSession#modify(EditBatch, ByteSupplier)
+     */
+    public ModifiedRegions modify(@NonNull EditBatch edits) throws WriteFailureException, IllegalArgumentException {
+        return modify(edits, byteSupplier);
+    }
+
+    /**
+     * Overwrites the regions of {@code edits} with bytes from {@code byteSupplier}.  Edits are sorted by offset
+     * and overlapping or adjacent edits are merged, so each byte is written once.  Regions are validated before
+     * any are written; a region may begin at the end of the file as extended by the preceding regions.
+     *
+     * @param edits the regions to overwrite
+     * @param byteSupplier byteSupplier of the bytes to be written
+     * @return the regions written
+     * @throws WriteFailureException if any error occurs while writing or the session is closed
+     * @throws IllegalArgumentException if a region begins beyond the end of the file
+     */
+    public ModifiedRegions modify(@NonNull EditBatch edits, @NonNull ByteSupplier byteSupplier)
+            throws WriteFailureException, IllegalArgumentException {
+        modified = true;
+        return writer.write(channel, edits, byteSupplier);
+    }
+
+    /**
+     * Extends the file by {@code numBytes} bytes from the session's supplier.
+     *
+     * @param numBytes number of bytes to write
+     * @throws WriteFailureException if any error occurs while writing or the session is closed
+     * @throws FileReadException if the file size cannot be read
+     */
+    public void append(long numBytes) throws WriteFailureException, FileReadException {
+        append(numBytes, byteSupplier);
+    }
+
+    /**
+     * Extends the file by {@code numBytes} bytes from {@code byteSupplier}.
+     *
+     * @param numBytes number of bytes to write
+     * @param byteSupplier byteSupplier of the bytes to be written
+     * @throws WriteFailureException if any error occurs while writing or the session is closed
+     * @throws FileReadException if the file size cannot be read
+     */
+    public void append(long numBytes, @NonNull ByteSupplier byteSupplier)
+            throws WriteFailureException, FileReadException {
+        modify(size(), numBytes, byteSupplier);
+    }
+
+    /**
+     * Reduces the file size by truncating all data beyond {@code newSize}.
+     *
+     * @param newSize the size of the file in bytes
+     * @throws WriteFailureException if the current file size is {@literal <}= the new size
+     * @throws WriteFailureException if an IO error occurs or the session is closed
+     * @throws IllegalArgumentException if {@code newSize} is negative
+     * @throws FileReadException if the file size cannot be read
+     * @see ByteWriter#truncate(long)
+     */
+    public void truncate(long newSize) throws WriteFailureException, IllegalArgumentException, FileReadException {
+        if (newSize < 0) {
+            throw new IllegalArgumentException("Received a negative newSize.");
+        }
+        if (newSize >= size() ) {
+            throw new WriteFailureException("The current file size is no less than newSize");
+        }
+        modified = true;
+        try {
+            channel.truncate(newSize);
+        } catch (IOException e) {
+            throw new WriteFailureException("Unable to truncate the file " + filePath, e);
+        }
+    }
+
+    /**
+     * Closes the file.  If the file was modified it is first made durable, or deferred to the sync group, as
+     * the writer's {@link WriteOptions#getDurability() durability} requires, so a session is forced once
+     * however many edits it applied.  Closing a closed session has no effect.
+     *
+     * @throws WriteFailureException if an IO error occurs while forcing or closing
+     */
+    @Override
+    public void close() throws WriteFailureException {
+        try (channel) {
+            if (modified && channel.isOpen() ) {
+                modified = false;
+                writer.commit(channel, false);
+            }
+        } catch (IOException e) {
+            throw new WriteFailureException("Error closing ByteChannel.", e);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package org.ericghara.write.bytesupplier;
 
 import org.ericghara.exception.ByteUnderflowException;
 
+import java.nio.ByteBuffer;
+
 /**
  * A functional interface to supply bytes
  */
@@ -14,4 +16,27 @@ public interface ByteSupplier {
      * @throws ByteUnderflowException if a byte cannot be supplied
      */
     byte getAsByte() throws ByteUnderflowException;
+
+    /**
+     * Fills {@code dst} from its current position to its limit.  The position of {@code dst}
+     * is advanced by the number of bytes written.
+     * <br><br>
+     * A return value less than the {@code dst.remaining()} at the time of the call signals that
+     * the supplier is exhausted.  The default implementation delegates to {@link ByteSupplier#getAsByte()};
+     * implementations should override it when bytes can be produced in bulk.
+     *
+     * @param dst the buffer to fill
+     * @return the number of bytes written to {@code dst}
+     */
+    default int fill(ByteBuffer dst) {
+        int start = dst.position();
+        try {
+            while (dst.hasRemaining() ) {
+                dst.put(getAsByte() );
+            }
+        } catch (ByteUnderflowException e) {
+            // exhausted, reported by short count
+        }
+        return dst.position() - start;
+    }
 }
@@ -0,0 +1,246 @@
+package org.ericghara.write.bytesupplier;
+
+import lombok.NonNull;
+import org.ericghara.exception.ByteUnderflowException;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A {@link ByteSupplier} that maps ranges of bytes to child suppliers, for example a file made of a
+ * header, a body and a trailer.  Each range is passed in a single call to the child's
+ * {@link ByteSupplier#fill(ByteBuffer)}, so the composite adds no per-byte overhead.
+ * <br><br>
+ * Children supply their bytes sequentially, in the order the composite consumes them.  A child used for
+ * several ranges continues where it left off.  If a child is exhausted before the end of its range the
+ * composite is exhausted.
+ * <br><br>
+ * Composites are created with {@link CompositeByteSupplier#builder()} or
+ * {@link CompositeByteSupplier#interleave(int, ByteSupplier...)}.
+ */
+public class CompositeByteSupplier implements ByteSupplier {
+
+    private record Segment(long start, long end, ByteSupplier supplier) {}
+
+    private final List<Segment> segments; // ordered and contiguous from 0
+    private final long period; // if > 0 the segments repeat every period bytes
+    private long position = 0;
+    private int current = 0; // index of the segment containing position
+
+    private CompositeByteSupplier(List<Segment> segments, long period) {
+        this.segments = List.copyOf(segments);
+        this.period = period;
+    }
+
+    /**
+     * Returns a builder for a composite of consecutive ranges.
+     *
+     * @return a new {@link Builder}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a composite that takes {@code stride} bytes from each child in turn, repeating endlessly.
+     *
+     * @param stride the number of consecutive bytes taken from each child
+     * @param children the suppliers to interleave
+     * @return a composite supplier
+     * @throws IllegalArgumentException if {@code stride} is not positive or no children are provided
+     */
+    public static CompositeByteSupplier interleave(int stride, @NonNull ByteSupplier... children)
+            throws IllegalArgumentException {
+        if (stride < 1) {
+            throw new IllegalArgumentException("Received a non-positive stride.");
+        }
+        if (children.length == 0) {
+            throw new IllegalArgumentException("Received no suppliers to interleave.");
+        }
+        List<Segment> segments = new ArrayList<>();
+        for (ByteSupplier child : children) {
+            long start = (long) segments.size() * stride;
+            segments.add(new Segment(start, start + stride, Objects.requireNonNull(child) ) );
+        }
+        return new CompositeByteSupplier(segments, (long) stride * children.length);
+    }
+
+    @Override
+    public byte getAsByte() throws ByteUnderflowException {
+        Segment segment = segment();
+        if (Objects.isNull(segment) ) {
+            throw new ByteUnderflowException("There are no remaining bytes to supply");
+        }
+        byte b = segment.supplier().getAsByte();
+        position++;
+        return b;
+    }
+
+    @Override
+    public int fill(ByteBuffer dst) {
+        int start = dst.position();
+        int limit = dst.limit();
+        try {
+            while (dst.hasRemaining() ) {
+                Segment segment = segment();
+                if (Objects.isNull(segment) ) {
+                    break;
+                }
+                int len = (int) Math.min(dst.remaining(), segment.end() - offset() );
+                dst.limit(dst.position() + len);
+                int n = segment.supplier().fill(dst);
+                dst.limit(limit);
+                position += n;
+                if (n < len) {
+                    break;
+                }
+            }
+        } finally {
+            dst.limit(limit);
+        }
+        return dst.position() - start;
+    }
+
+    private long offset() {
+        return period > 0 ? position % period : position;
+    }
+
+    // the segment containing position, or null if past the last segment
+    private Segment segment() {
+        long offset = offset();
+        if (current < segments.size() && offset < segments.get(current).start() ) {
+            current = 0; // wrapped to the next period
+        }
+        while (current < segments.size() && offset >= segments.get(current).end() ) {
+            current++;
+        }
+        return current < segments.size() ? segments.get(current) : null;
+    }
+
+    /**
+     * Builds a {@link CompositeByteSupplier} from consecutive ranges.  Ranges may be appended one after
+     * another or placed at an offset; any gap before an offset range is supplied by the background supplier.
+     * <br><br>
+     * Example, a header, a random body and a footer:
+     * <pre>
+     *     CompositeByteSupplier.builder()
+     *                          .append(4, new StringByteSupplier("MAGC") )
+     *                          .append(bodySize, new RandomByteSupplier() )
+     *                          .append(new PatternByteSupplier("END") )
+     *                          .build();
+     * </pre>
+     */
+    public static class Builder {
+
+        private final List<Segment> segments = new ArrayList<>();
+        private ByteSupplier background;
+        private long end = 0;
+        private boolean unbounded = false;
+
+        Builder() {}
+
+        /**
+         * Sets the supplier of any bytes not within a range.
+         *
+         * @param background the supplier of bytes between ranges
+         * @return this builder
+         */
+        public Builder background(@NonNull ByteSupplier background) {
+            this.background = background;
+            return this;
+        }
+
+        /**
+         * Appends a range immediately after the last range.
+         *
+         * @param numBytes the length of the range
+         * @param supplier the supplier of the range
+         * @return this builder
+         * @throws IllegalArgumentException if {@code numBytes} is negative
+         * @throws IllegalStateException if an unbounded range has been appended
+         */
+        public Builder append(long numBytes, @NonNull ByteSupplier supplier)
+                throws IllegalArgumentException, IllegalStateException {
+            return region(end, numBytes, supplier);
+        }
+
+        /**
+         * Appends a final range, continuing until {@code supplier} is exhausted.
+         *
+         * @param supplier the supplier of the range
+         * @return this builder
+         * @throws IllegalStateException if an unbounded range has been appended
+         */
+        public Builder append(@NonNull ByteSupplier supplier) throws IllegalStateException {
+            assertBounded();
+            segments.add(new Segment(end, Long.MAX_VALUE, supplier) );
+            unbounded = true;
+            return this;
+        }
+
+        /**
+         * Places a range at {@code offset}.  Ranges must be placed in increasing order of offset.
+         *
+         * @param offset the position of the first byte of the range
+         * @param numBytes the length of the range
+         * @param supplier the supplier of the range
+         * @return this builder
+         * @throws IllegalArgumentException if {@code numBytes} is negative or the range overlaps the previous range
+         * @throws IllegalStateException if an unbounded range has been appended, or there is a gap and no background
+         */
+        public Builder region(long offset, long numBytes, @NonNull ByteSupplier supplier)
+                throws IllegalArgumentException, IllegalStateException {
+            assertBounded();
+            if (numBytes < 0) {
+                throw new IllegalArgumentException("Received a negative numBytes.");
+            }
+            if (offset < end) {
+                throw new IllegalArgumentException(String.format(
+                        "The range at offset %d overlaps the previous range ending at %d", offset, end) );
+            }
+            if (offset > end) {
+                segments.add(new Segment(end, offset, backgroundThrows() ) );
+            }
+            if (numBytes > 0) {
+                segments.add(new Segment(offset, offset + numBytes, supplier) );
+            }
+            end = offset + numBytes;
+            return this;
+        }
+
+        /**
+         * Builds a composite that is exhausted after the last range, unless the last range is unbounded.
+         *
+         * @return a composite supplier
+         */
+        public CompositeByteSupplier build() {
+            return new CompositeByteSupplier(segments, 0);
+        }
+
+        /**
+         * Builds a composite that continues with the background supplier after the last range.
+         *
+         * @return a composite supplier
+         * @throws IllegalStateException if an unbounded range has been appended or there is no background
+         */
+        public CompositeByteSupplier buildWithBackground() throws IllegalStateException {
+            append(backgroundThrows() );
+            return build();
+        }
+
+        private ByteSupplier backgroundThrows() throws IllegalStateException {
+            if (Objects.isNull(background) ) {
+                throw new IllegalStateException("A background supplier is required to fill the gaps between ranges.");
+            }
+            return background;
+        }
+
+        private void assertBounded() throws IllegalStateException {
+            if (unbounded) {
+                throw new IllegalStateException("No range may follow an unbounded range.");
+            }
+        }
+    }
+}
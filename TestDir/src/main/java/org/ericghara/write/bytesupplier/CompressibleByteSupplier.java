@@ -0,0 +1,80 @@
+package org.ericghara.write.bytesupplier;
+
+import lombok.NonNull;
+
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+
+/**
+ * Supplies bytes that compress to approximately a target fraction of their original size.  The output
+ * is a sequence of fixed size segments, each made of a run of random bytes followed by a run of zeros.
+ * The random run is incompressible and the zero run compresses to almost nothing, so the compressed size
+ * is close to {@code ratio} times the original size for any LZ77 based compressor.
+ * <br><br>
+ * Both runs are written in bulk: the random run by {@link RandomByteSupplier#fill(ByteBuffer)} and
+ * the zero run by copying from a shared block of zeros.
+ */
+public class CompressibleByteSupplier implements ByteSupplier {
+
+    /**
+     * The length of each random + zero segment in bytes.
+     */
+    public static final int SEGMENT_SIZE = 4096;
+
+    private static final ByteBuffer ZEROS = ByteBuffer.allocateDirect(SEGMENT_SIZE).asReadOnlyBuffer();
+
+    private final RandomByteSupplier random;
+    private final int randomLength;
+    private int offset = 0; // position within the current segment
+
+    /**
+     * Creates a supplier with a target compression ratio.
+     *
+     * @param ratio the compressed size as a fraction of the original size, {@code 0 <= ratio <= 1}
+     * @throws IllegalArgumentException if {@code ratio} is outside of {@code [0, 1]}
+     */
+    public CompressibleByteSupplier(double ratio) throws IllegalArgumentException {
+        this(ratio, new SplittableRandom() );
+    }
+
+    /**
+     * Creates a supplier with a target compression ratio.
+     *
+     * @param ratio the compressed size as a fraction of the original size, {@code 0 <= ratio <= 1}
+     * @param random the source of the incompressible bytes
+     * @throws IllegalArgumentException if {@code ratio} is outside of {@code [0, 1]}
+     */
+    public CompressibleByteSupplier(double ratio, @NonNull SplittableRandom random) throws IllegalArgumentException {
+        if (!(ratio >= 0 && ratio <= 1) ) {
+            throw new IllegalArgumentException("The ratio must be between 0 and 1 but received " + ratio);
+        }
+        this.random = new RandomByteSupplier(random);
+        this.randomLength = (int) Math.round(ratio * SEGMENT_SIZE);
+    }
+
+    @Override
+    public byte getAsByte() {
+        byte b = offset < randomLength ? random.getAsByte() : 0;
+        offset = (offset + 1) % SEGMENT_SIZE;
+        return b;
+    }
+
+    @Override
+    public int fill(ByteBuffer dst) {
+        int n = dst.remaining();
+        int limit = dst.limit();
+        while (dst.hasRemaining() ) {
+            int runEnd = offset < randomLength ? randomLength : SEGMENT_SIZE;
+            int len = Math.min(runEnd - offset, dst.remaining() );
+            dst.limit(dst.position() + len);
+            if (offset < randomLength) {
+                random.fill(dst);
+            } else {
+                dst.put(ZEROS.duplicate().limit(len) );
+            }
+            dst.limit(limit);
+            offset = (offset + len) % SEGMENT_SIZE;
+        }
+        return n;
+    }
+}
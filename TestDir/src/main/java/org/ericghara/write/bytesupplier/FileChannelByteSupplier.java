@@ -0,0 +1,157 @@
+package org.ericghara.write.bytesupplier;
+
+import lombok.NonNull;
+import org.ericghara.exception.ByteUnderflowException;
+import org.ericghara.exception.FileReadException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Supplies the content of a source file, for example a captured log or media sample.  The byte
+ * at position {@code n} is the byte at position {@code n} of the source.  If {@code cycle} is set the
+ * source repeats, so files larger than the source may be written; otherwise the supplier is exhausted
+ * at the end of the source.
+ * <br><br>
+ * {@link org.ericghara.write.ByteWriter ByteWriter} copies from this supplier with
+ * {@link FileChannel#transferTo(long, long, WritableByteChannel)}, which the default filesystem may
+ * complete entirely in the kernel.
+ */
+public class FileChannelByteSupplier implements SeekableByteSupplier, TransferableByteSupplier, AutoCloseable {
+
+    private final FileChannel source;
+    private final long size;
+    private final boolean cycle;
+    private long position = 0;
+
+    /**
+     * Creates a supplier of the content of the file at {@code path}, which is exhausted at the end of the file.
+     *
+     * @param path the source file
+     * @throws FileReadException if the file cannot be opened or its size read
+     */
+    public FileChannelByteSupplier(Path path) throws FileReadException {
+        this(path, false);
+    }
+
+    /**
+     * Creates a supplier of the content of the file at {@code path}.
+     *
+     * @param path the source file
+     * @param cycle {@code true} to repeat the source instead of being exhausted at its end
+     * @throws FileReadException if the file cannot be opened or its size read
+     * @throws IllegalArgumentException if {@code cycle} is set and the file is empty
+     */
+    public FileChannelByteSupplier(@NonNull Path path, boolean cycle)
+            throws FileReadException, IllegalArgumentException {
+        this(open(path), cycle);
+    }
+
+    /**
+     * Creates a supplier of the content of {@code source}.  The size of the source is read once,
+     * at construction.  The channel's position is not used or modified.
+     *
+     * @param source the source channel
+     * @param cycle {@code true} to repeat the source instead of being exhausted at its end
+     * @throws FileReadException if the size of {@code source} cannot be read
+     * @throws IllegalArgumentException if {@code cycle} is set and the source is empty
+     */
+    public FileChannelByteSupplier(@NonNull FileChannel source, boolean cycle)
+            throws FileReadException, IllegalArgumentException {
+        this.source = source;
+        this.cycle = cycle;
+        try {
+            this.size = source.size();
+        } catch (IOException e) {
+            throw new FileReadException("Could not read the size of the source channel.", e);
+        }
+        if (cycle && size == 0) {
+            throw new IllegalArgumentException("Cannot cycle an empty source.");
+        }
+    }
+
+    private static FileChannel open(Path path) throws FileReadException {
+        try {
+            return FileChannel.open(path, READ);
+        } catch (IOException e) {
+            throw new FileReadException("Unable to open the source file " + path, e);
+        }
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public void position(long position) throws IllegalArgumentException {
+        if (position < 0) {
+            throw new IllegalArgumentException("Received a negative position.");
+        }
+        this.position = position;
+    }
+
+    /**
+     * @param dst the buffer to fill
+     * @param position the position of the first byte to write to {@code dst}
+     * @return the number of bytes written to {@code dst}
+     * @throws ByteUnderflowException if an error occurs while reading the source
+     */
+    @Override
+    public int fill(ByteBuffer dst, long position) throws ByteUnderflowException {
+        int start = dst.position();
+        int limit = dst.limit();
+        try {
+            while (dst.hasRemaining() ) {
+                long srcPos = sourcePosition(position);
+                if (srcPos >= size) {
+                    break;
+                }
+                dst.limit(dst.position() + (int) Math.min(dst.remaining(), size - srcPos) );
+                int read = source.read(dst, srcPos);
+                dst.limit(limit);
+                if (read <= 0) {
+                    break;
+                }
+                position += read;
+            }
+        } catch (IOException e) {
+            throw new ByteUnderflowException("Could not read from the source channel.", e);
+        } finally {
+            dst.limit(limit);
+        }
+        return dst.position() - start;
+    }
+
+    @Override
+    public long transferTo(@NonNull WritableByteChannel target, long count) throws IOException {
+        long transferred = 0;
+        while (transferred < count) {
+            long srcPos = sourcePosition(position);
+            if (srcPos >= size) {
+                break;
+            }
+            long n = source.transferTo(srcPos, Math.min(count - transferred, size - srcPos), target);
+            if (n <= 0) {
+                break;
+            }
+            transferred += n;
+            position += n;
+        }
+        return transferred;
+    }
+
+    private long sourcePosition(long position) {
+        return cycle ? position % size : position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+}
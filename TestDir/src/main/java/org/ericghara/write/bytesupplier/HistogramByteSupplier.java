@@ -0,0 +1,148 @@
+package org.ericghara.write.bytesupplier;
+
+import lombok.NonNull;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Supplies random bytes following an arbitrary byte-frequency histogram.  Bytes are drawn with
+ * Vose's alias method, so each byte costs one table lookup regardless of the shape of the histogram.
+ * Each {@code long} from the {@link SplittableRandom} yields two bytes.
+ */
+public class HistogramByteSupplier implements ByteSupplier {
+
+    private static final int RADIX = 256;
+    private static final int THRESHOLD_BITS = 24; // bits of a 32-bit sample not used to select the column
+    private static final long THRESHOLD_SCALE = 1L << THRESHOLD_BITS;
+    private static final int THRESHOLD_MASK = (int) THRESHOLD_SCALE - 1;
+    private static final int BITS_PER_SAMPLE = Integer.SIZE;
+    private static final int CHUNK_SIZE = 4096;
+
+    private final SplittableRandom random;
+    private final int[] threshold = new int[RADIX];
+    private final byte[] outcomes = new byte[2 * RADIX]; // {alias, column} pairs indexed by column
+    private final byte[] chunk = new byte[CHUNK_SIZE];
+
+    private long l;
+    private boolean hasSample = false;
+
+    /**
+     * Creates a supplier of bytes distributed according to {@code weights}.
+     *
+     * @param weights relative frequency of each byte value, indexed by the unsigned byte value
+     * @throws IllegalArgumentException if there are not 256 weights, any weight is negative or not finite, or
+     * the weights do not sum to a positive finite value
+     * @see Byte#toUnsignedInt(byte)
+     */
+    public HistogramByteSupplier(double[] weights) throws IllegalArgumentException {
+        this(weights, new SplittableRandom() );
+    }
+
+    /**
+     * Creates a supplier of bytes distributed according to {@code weights}.
+     *
+     * @param weights relative frequency of each byte value, indexed by the unsigned byte value
+     * @param random the source of randomness
+     * @throws IllegalArgumentException if there are not 256 weights, any weight is negative or not finite, or
+     * the weights do not sum to a positive finite value
+     * @see Byte#toUnsignedInt(byte)
+     */
+    public HistogramByteSupplier(@NonNull double[] weights, @NonNull SplittableRandom random)
+            throws IllegalArgumentException {
+        this.random = random;
+        initAliasTable(validWeights(weights) );
+    }
+
+    @Override
+    public byte getAsByte() {
+        if (!hasSample) {
+            l = random.nextLong();
+            hasSample = true;
+            return sample( (int) (l >>> BITS_PER_SAMPLE) );
+        }
+        hasSample = false;
+        return sample( (int) l);
+    }
+
+    @Override
+    public int fill(ByteBuffer dst) {
+        int n = dst.remaining();
+        if (hasSample && dst.hasRemaining() ) {
+            dst.put(getAsByte() );
+        }
+        while (dst.remaining() >= 2) {
+            int len = Math.min(dst.remaining(), CHUNK_SIZE) & ~1;
+            for (int j = 0; j < len; j += 2) {
+                long r = random.nextLong();
+                chunk[j] = sample( (int) (r >>> BITS_PER_SAMPLE) );
+                chunk[j + 1] = sample( (int) r);
+            }
+            dst.put(chunk, 0, len);
+        }
+        if (dst.hasRemaining() ) {
+            dst.put(getAsByte() );
+        }
+        return n;
+    }
+
+    /* Top 8 bits select a column, the remaining 24 are compared to the column's threshold.
+    Branch free: the sign bit of (bits - threshold) selects the column's own byte or its alias. */
+    private byte sample(int bits) {
+        int column = bits >>> THRESHOLD_BITS;
+        int below = ( (bits & THRESHOLD_MASK) - threshold[column]) >>> 31;
+        return outcomes[column << 1 | below];
+    }
+
+    // Vose's alias method
+    private void initAliasTable(double[] weights) {
+        double sum = 0;
+        for (double w : weights) {
+            sum += w;
+        }
+        double[] scaled = new double[RADIX];
+        Deque<Integer> small = new ArrayDeque<>();
+        Deque<Integer> large = new ArrayDeque<>();
+        for (int i = 0; i < RADIX; i++) {
+            scaled[i] = weights[i] * RADIX / sum;
+            (scaled[i] < 1D ? small : large).push(i);
+        }
+        while (!small.isEmpty() && !large.isEmpty() ) {
+            int s = small.pop();
+            int g = large.pop();
+            threshold[s] = (int) Math.round(scaled[s] * THRESHOLD_SCALE);
+            outcomes[s << 1] = (byte) g;
+            outcomes[s << 1 | 1] = (byte) s;
+            scaled[g] = (scaled[g] + scaled[s]) - 1D;
+            (scaled[g] < 1D ? small : large).push(g);
+        }
+        // remaining columns are full, up to rounding error
+        for (Deque<Integer> rest : List.of(small, large) ) {
+            for (int i : rest) {
+                threshold[i] = (int) THRESHOLD_SCALE;
+                outcomes[i << 1] = (byte) i;
+                outcomes[i << 1 | 1] = (byte) i;
+            }
+        }
+    }
+
+    static double[] validWeights(double[] weights) throws IllegalArgumentException {
+        if (weights.length != RADIX) {
+            throw new IllegalArgumentException("Expected " + RADIX + " weights but received " + weights.length);
+        }
+        double sum = 0;
+        for (double w : weights) {
+            if (!Double.isFinite(w) || w < 0) {
+                throw new IllegalArgumentException("Received an invalid weight: " + w);
+            }
+            sum += w;
+        }
+        if (!(sum > 0 && Double.isFinite(sum) ) ) {
+            throw new IllegalArgumentException("Received weights that do not sum to a positive finite value.");
+        }
+        return weights;
+    }
+}
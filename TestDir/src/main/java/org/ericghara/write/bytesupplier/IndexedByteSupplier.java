@@ -0,0 +1,97 @@
+package org.ericghara.write.bytesupplier;
+
+import lombok.NonNull;
+
+import java.nio.ByteBuffer;
+import java.util.function.LongToIntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * A {@link SeekableByteSupplier} where the byte at each position is computed by a generator function of the
+ * position, for example structured binary content.  Each result of the generator is narrowed to a byte.
+ * <br><br>
+ * When parallel, a destination of at least two {@link IndexedByteSupplier#SPLIT_SIZE}s is split into ranges of
+ * {@code SPLIT_SIZE} bytes which are generated concurrently in the common {@link java.util.concurrent.ForkJoinPool}.
+ * The generator must then be safe to call concurrently.
+ */
+public class IndexedByteSupplier implements SeekableByteSupplier {
+
+    /**
+     * Size, in bytes, of each range generated by a parallel supplier.
+     */
+    public static final int SPLIT_SIZE = 64 * 1024;
+
+    private final LongToIntFunction generator;
+    private final boolean parallel;
+    private long position = 0;
+
+    /**
+     * Creates a sequential supplier.
+     *
+     * @param generator function from a position to the byte at that position
+     */
+    public IndexedByteSupplier(LongToIntFunction generator) {
+        this(generator, false);
+    }
+
+    /**
+     * Creates a supplier.
+     *
+     * @param generator function from a position to the byte at that position
+     * @param parallel {@code true} to generate large fills concurrently
+     */
+    public IndexedByteSupplier(@NonNull LongToIntFunction generator, boolean parallel) {
+        this.generator = generator;
+        this.parallel = parallel;
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public void position(long position) throws IllegalArgumentException {
+        if (position < 0) {
+            throw new IllegalArgumentException("Received a negative position.");
+        }
+        this.position = position;
+    }
+
+    @Override
+    public byte getAsByte() {
+        return (byte) generator.applyAsInt(position++);
+    }
+
+    /**
+     * @param dst the buffer to fill
+     * @param position the position of the first byte to write to {@code dst}
+     * @return {@code dst.remaining()}, this supplier is never exhausted
+     */
+    @Override
+    public int fill(ByteBuffer dst, long position) {
+        int n = dst.remaining();
+        if (!parallel || n < 2 * SPLIT_SIZE) {
+            fillRange(dst, position);
+            return n;
+        }
+        int start = dst.position();
+        int ranges = (n + SPLIT_SIZE - 1) / SPLIT_SIZE;
+        IntStream.range(0, ranges)
+                 .parallel()
+                 .forEach(r -> {
+                     int offset = r * SPLIT_SIZE;
+                     var range = dst.slice(start + offset, Math.min(SPLIT_SIZE, n - offset) );
+                     fillRange(range, position + offset);
+                 });
+        dst.position(start + n);
+        return n;
+    }
+
+    private void fillRange(ByteBuffer dst, long position) {
+        int n = dst.remaining();
+        for (int i = 0; i < n; i++) {
+            dst.put( (byte) generator.applyAsInt(position + i) );
+        }
+    }
+}
@@ -1,17 +1,75 @@
 package org.ericghara.write.bytesupplier;
 
-import lombok.AllArgsConstructor;
 import lombok.NonNull;
 import org.ericghara.exception.ByteUnderflowException;
 
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
 
-@AllArgsConstructor
+/**
+ * Supplies bytes read from an {@link InputStream} or a {@link ReadableByteChannel}.  The source is read
+ * in chunks into an internal buffer.  When the source is a channel, or a {@link FileInputStream},
+ * {@link InputStreamByteSupplier#fill(ByteBuffer)} reads from the channel directly into the destination.
+ * <br><br>
+ * A read that returns no bytes, as a non-blocking channel without data does, is retried once, after which
+ * the supplier blocks until bytes are available.  The source is closed once it is exhausted.
+ */
 public class InputStreamByteSupplier implements ByteSupplier, AutoCloseable {
 
-    @NonNull
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final long MAX_PAUSE_MILLIS = 64;
+
     private final InputStream stream;
+    private final ReadableByteChannel channel; // null unless the source is channel backed
+    private final ByteBuffer buffer; // bytes read but not yet supplied are between position and limit
+
+    /**
+     * Creates a supplier reading from {@code stream} with the default buffer size.
+     *
+     * @param stream the source of bytes
+     */
+    public InputStreamByteSupplier(@NonNull InputStream stream) {
+        this(stream, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a supplier reading from {@code stream}.
+     *
+     * @param stream the source of bytes
+     * @param bufferSize size of the internal buffer in bytes
+     * @throws IllegalArgumentException if {@code bufferSize} is not positive
+     */
+    public InputStreamByteSupplier(@NonNull InputStream stream, int bufferSize) throws IllegalArgumentException {
+        this(stream, stream instanceof FileInputStream fileStream ? fileStream.getChannel() : null, bufferSize);
+    }
+
+    /**
+     * Creates a supplier reading from {@code channel} with the default buffer size.
+     *
+     * @param channel the source of bytes
+     */
+    public InputStreamByteSupplier(@NonNull ReadableByteChannel channel) {
+        this(Channels.newInputStream(channel), channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    private InputStreamByteSupplier(InputStream stream, ReadableByteChannel channel, int bufferSize)
+            throws IllegalArgumentException {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Received a non-positive buffer size.");
+        }
+        this.stream = stream;
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(bufferSize)
+                                .flip();
+    }
 
     private RuntimeException autoClose(ByteUnderflowException e) {
         try (this) {
@@ -24,18 +82,139 @@ public class InputStreamByteSupplier implements ByteSupplier, AutoCloseable {
 
     @Override
     public byte getAsByte() throws ByteUnderflowException, IllegalStateException {
-        int byteInt;
+        if (!buffer.hasRemaining() ) {
+            int read;
+            try {
+                read = refill();
+            } catch (IOException e) {
+                var ex = new ByteUnderflowException("Could not read next byte from the inputStream.", e);
+                throw autoClose(ex);
+            }
+            if (read == -1) {
+                var ex = new ByteUnderflowException("The input stream is empty.");
+                throw autoClose(ex);
+            }
+        }
+        return buffer.get();
+    }
+
+    /**
+     * Reads from the source until {@code dst} is full or the source is exhausted.  When the source
+     * is exhausted it is closed and a short count is returned.
+     *
+     * @param dst the buffer to fill
+     * @return the number of bytes written to {@code dst}
+     * @throws ByteUnderflowException if an error occurs while reading the source
+     * @throws IllegalStateException if the source is exhausted and could not be closed
+     */
+    @Override
+    public int fill(ByteBuffer dst) throws ByteUnderflowException, IllegalStateException {
+        int start = dst.position();
         try {
-            byteInt = stream.read();
+            while (dst.hasRemaining() ) {
+                if (buffer.hasRemaining() ) {
+                    drainBuffer(dst);
+                } else if (read(dst) == -1) {
+                    closeExhausted();
+                    break;
+                }
+            }
         } catch (IOException e) {
-            var ex = new ByteUnderflowException("Could not read next byte from the inputStream.", e);
+            var ex = new ByteUnderflowException("Could not read next bytes from the inputStream.", e);
             throw autoClose(ex);
         }
-        if (byteInt == -1) {
-            var ex = new ByteUnderflowException("The input stream is empty.");
-            throw autoClose(ex);
+        return dst.position() - start;
+    }
+
+    // reads directly into dst when channel backed, otherwise through the buffer
+    private int read(ByteBuffer dst) throws IOException {
+        if (channel != null) {
+            return readChannel(dst);
+        }
+        int read = refill();
+        if (read > 0) {
+            drainBuffer(dst);
+        }
+        return read;
+    }
+
+    // buffer must be empty; returns -1 when the source is exhausted
+    private int refill() throws IOException {
+        buffer.clear();
+        int read;
+        if (channel != null) {
+            read = readChannel(buffer);
+        } else {
+            read = stream.readNBytes(buffer.array(), 0, buffer.capacity() );
+            buffer.position(read);
+            read = read == 0 ? -1 : read;
+        }
+        buffer.flip();
+        return read;
+    }
+
+    // a read of 0 bytes, e.g. from a non-blocking channel without data, is retried once and then the read blocks
+    private int readChannel(ByteBuffer dst) throws IOException {
+        int read = channel.read(dst);
+        if (read == 0 && dst.hasRemaining() ) {
+            read = channel.read(dst);
+        }
+        if (read == 0 && dst.hasRemaining() ) {
+            read = awaitRead(dst);
+        }
+        return read;
+    }
+
+    // waits on a selector for a non-blocking channel, other channels are polled with a growing pause
+    private int awaitRead(ByteBuffer dst) throws IOException {
+        if (channel instanceof SelectableChannel selectable && !selectable.isBlocking() ) {
+            try (Selector selector = Selector.open() ) {
+                selectable.register(selector, SelectionKey.OP_READ);
+                int read;
+                do {
+                    throwIfInterrupted();
+                    selector.select();
+                    selector.selectedKeys()
+                            .clear();
+                    read = channel.read(dst);
+                } while (read == 0);
+                return read;
+            }
+        }
+        long pauseMillis = 1;
+        int read;
+        do {
+            try {
+                Thread.sleep(pauseMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throwIfInterrupted();
+            }
+            pauseMillis = Math.min(pauseMillis * 2, MAX_PAUSE_MILLIS);
+            read = channel.read(dst);
+        } while (read == 0);
+        return read;
+    }
+
+    private static void throwIfInterrupted() throws InterruptedIOException {
+        if (Thread.currentThread().isInterrupted() ) {
+            throw new InterruptedIOException("Interrupted while waiting for the channel.");
+        }
+    }
+
+    private void drainBuffer(ByteBuffer dst) {
+        int n = Math.min(dst.remaining(), buffer.remaining() );
+        dst.put(dst.position(), buffer, buffer.position(), n);
+        dst.position(dst.position() + n);
+        buffer.position(buffer.position() + n);
+    }
+
+    private void closeExhausted() throws IllegalStateException {
+        try {
+            close();
+        } catch (IOException e) {
+            throw new IllegalStateException("The input stream is empty and could not be closed.", e);
         }
-        return (byte) byteInt;
     }
 
     @Override
@@ -2,19 +2,30 @@ package org.ericghara.write.bytesupplier;
 
 import org.ericghara.exception.ByteUnderflowException;
 
+import java.nio.ByteBuffer;
 import java.util.Spliterator;
 import java.util.function.IntConsumer;
 import java.util.stream.IntStream;
 
+/**
+ * Supplies bytes from an {@link IntStream}, each element is narrowed to a byte.
+ * {@link IntStreamByteSupplier#fill(ByteBuffer)} drains the stream in batches bounded by the size of the
+ * destination, see {@link SpliteratorDrain}.  Sized parallel streams are split into ordered batches.  Streams
+ * which can be neither sized nor split, e.g. {@code IntStream.generate(...).map(...)}, are drained one element
+ * at a time.  The stream is traversed on the calling thread and is not read ahead of the bytes supplied.
+ */
 public class IntStreamByteSupplier implements ByteSupplier {
 
-    private final Spliterator.OfInt spliterator;
+    private final SpliteratorDrain<IntConsumer, Spliterator.OfInt> drain;
     private final IntConsumer consumer;
+    private final IntConsumer sink;
+    private ByteBuffer target;
     private byte b;
 
     public IntStreamByteSupplier(IntStream stream) {
-        spliterator = stream.spliterator();
+        drain = new SpliteratorDrain<>(stream.spliterator() );
         consumer = getIntConsumer();
+        sink = (int i) -> target.put( (byte) i);
     }
 
     IntConsumer getIntConsumer() {
@@ -23,9 +34,19 @@ public class IntStreamByteSupplier implements ByteSupplier {
 
     @Override
     public byte getAsByte() throws ByteUnderflowException {
-        if (!spliterator.tryAdvance(consumer) ) {
+        if (drain.drain(consumer, 1) < 1) {
             throw new ByteUnderflowException("Stream is empty");
         }
         return b;
     }
+
+    @Override
+    public int fill(ByteBuffer dst) {
+        target = dst;
+        try {
+            return (int) drain.drain(sink, dst.remaining() );
+        } finally {
+            target = null;
+        }
+    }
 }
@@ -0,0 +1,131 @@
+package org.ericghara.write.bytesupplier;
+
+import lombok.NonNull;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+
+/**
+ * A {@link SeekableByteSupplier} of pseudo-random bytes.  The byte at any position is a pure
+ * function of a key and the position, so the expected content of any region can be recomputed
+ * without storing it.
+ * <br><br>
+ * Bytes are produced by a counter-based generator: the SplitMix64 finalizer is applied to
+ * {@code key + (position / 8 + 1) * GOLDEN_GAMMA} and the result is supplied least significant
+ * byte first.  {@link KeyedRandomByteSupplier#forPath(Path)} derives a new key from the path, giving
+ * every file distinct, reproducible content for a given seed.
+ */
+public class KeyedRandomByteSupplier implements SeekableByteSupplier {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final int BYTES_PER_LONG = Long.BYTES;
+    private static final int BITS_PER_BYTE = 8;
+
+    private final long key;
+    private long position;
+
+    /**
+     * Creates a supplier keyed by {@code seed}.
+     *
+     * @param seed the root key of all content produced by this supplier and those derived from it
+     */
+    public KeyedRandomByteSupplier(long seed) {
+        this(mix64(seed), 0);
+    }
+
+    private KeyedRandomByteSupplier(long key, long position) {
+        this.key = key;
+        this.position = position;
+    }
+
+    /**
+     * A supplier keyed by both this supplier's key and {@code path}.  The path is hashed
+     * by its name elements, so equal relative paths give equal content on any {@link java.nio.file.FileSystem}.
+     *
+     * @param path a path identifying the file, typically relative to a {@link org.ericghara.core.TestDir TestDir}
+     * @return a new supplier, positioned at {@code 0}
+     */
+    @Override
+    public KeyedRandomByteSupplier forPath(@NonNull Path path) {
+        return new KeyedRandomByteSupplier(hash(key, path), 0);
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public void position(long position) throws IllegalArgumentException {
+        if (position < 0) {
+            throw new IllegalArgumentException("Received a negative position.");
+        }
+        this.position = position;
+    }
+
+    @Override
+    public byte getAsByte() {
+        long word = word(position / BYTES_PER_LONG);
+        int shift = (int) (position % BYTES_PER_LONG) * BITS_PER_BYTE;
+        position++;
+        return (byte) (word >>> shift);
+    }
+
+    /**
+     * @param dst the buffer to fill
+     * @param position the position of the first byte to write to {@code dst}
+     * @return {@code dst.remaining()}, this supplier is never exhausted
+     */
+    @Override
+    public int fill(ByteBuffer dst, long position) {
+        int n = dst.remaining();
+        long index = position / BYTES_PER_LONG;
+        int offset = (int) (position % BYTES_PER_LONG);
+        if (offset != 0) {
+            long word = word(index++) >>> (offset * BITS_PER_BYTE);
+            for (int j = offset; j < BYTES_PER_LONG && dst.hasRemaining(); j++) {
+                dst.put( (byte) word);
+                word >>>= BITS_PER_BYTE;
+            }
+        }
+        ByteOrder order = dst.order();
+        dst.order(LITTLE_ENDIAN);
+        while (dst.remaining() >= BYTES_PER_LONG) {
+            dst.putLong(word(index++) );
+        }
+        dst.order(order);
+        long word = word(index);
+        while (dst.hasRemaining() ) {
+            dst.put( (byte) word);
+            word >>>= BITS_PER_BYTE;
+        }
+        return n;
+    }
+
+    long word(long index) {
+        return mix64(key + (index + 1) * GOLDEN_GAMMA);
+    }
+
+    // hashes the name elements of path, independent of the path's FileSystem
+    static long hash(long key, Path path) {
+        long h = key;
+        for (Path name : path) {
+            for (byte b : name.toString().getBytes(StandardCharsets.UTF_8) ) {
+                h = (h ^ b) * GOLDEN_GAMMA;
+            }
+            h = mix64(h ^ '/');
+        }
+        return h;
+    }
+
+    // SplitMix64 finalizer (Stafford variant 13)
+    static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,87 @@
+package org.ericghara.write.bytesupplier;
+
+import lombok.NonNull;
+import org.ericghara.exception.ByteUnderflowException;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+/**
+ * Supplies bytes from a {@link LongStream}, packing eight bytes per element in the specified
+ * {@link ByteOrder}.  {@link LongStreamByteSupplier#fill(ByteBuffer)} drains the stream in batches
+ * bounded by the size of the destination, see {@link SpliteratorDrain}.  Streams which can be neither sized
+ * nor split are drained one element at a time.  The stream is traversed on the calling thread and is not read
+ * ahead of the element holding the last byte supplied.
+ */
+public class LongStreamByteSupplier implements ByteSupplier {
+
+    private final SpliteratorDrain<LongConsumer, Spliterator.OfLong> drain;
+    private final ByteOrder order;
+    private final ByteBuffer partial; // bytes of a partially supplied element are between position and limit
+    private final LongConsumer partialSink;
+    private final LongConsumer sink;
+    private ByteBuffer target;
+
+    /**
+     * Creates a supplier packing each element big-endian.
+     *
+     * @param stream the source of elements
+     */
+    public LongStreamByteSupplier(LongStream stream) {
+        this(stream, ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * Creates a supplier packing each element in {@code order}.
+     *
+     * @param stream the source of elements
+     * @param order the byte order of each element
+     */
+    public LongStreamByteSupplier(@NonNull LongStream stream, @NonNull ByteOrder order) {
+        drain = new SpliteratorDrain<>(stream.spliterator() );
+        this.order = order;
+        partial = ByteBuffer.allocate(Long.BYTES)
+                            .order(order)
+                            .flip();
+        partialSink = (long l) -> partial.clear()
+                                         .putLong(l)
+                                         .flip();
+        sink = (long l) -> target.putLong(l);
+    }
+
+    @Override
+    public byte getAsByte() throws ByteUnderflowException {
+        if (!partial.hasRemaining() && drain.drain(partialSink, 1) < 1) {
+            throw new ByteUnderflowException("Stream is empty");
+        }
+        return partial.get();
+    }
+
+    @Override
+    public int fill(ByteBuffer dst) {
+        int start = dst.position();
+        drainPartial(dst);
+        ByteOrder dstOrder = dst.order();
+        target = dst.order(order);
+        try {
+            drain.drain(sink, dst.remaining() / Long.BYTES);
+        } finally {
+            target = null;
+            dst.order(dstOrder);
+        }
+        if (dst.hasRemaining() && drain.drain(partialSink, 1) == 1) {
+            drainPartial(dst);
+        }
+        return dst.position() - start;
+    }
+
+    private void drainPartial(ByteBuffer dst) {
+        int n = Math.min(dst.remaining(), partial.remaining() );
+        dst.put(dst.position(), partial, partial.position(), n);
+        dst.position(dst.position() + n);
+        partial.position(partial.position() + n);
+    }
+}
@@ -0,0 +1,139 @@
+package org.ericghara.write.bytesupplier;
+
+import lombok.NonNull;
+import org.ericghara.exception.FileReadException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A {@link SeekableByteSupplier} that endlessly repeats a byte pattern.  The byte at position {@code n}
+ * is {@code pattern[n % pattern.length]}, so a pattern written with {@link org.ericghara.write.ByteWriter ByteWriter}
+ * stays aligned to file offsets, for example as fixed length records or markers.
+ * <br><br>
+ * The pattern is repeated once, at construction, into a block of at least
+ * {@link PatternByteSupplier#BLOCK_SIZE} bytes.  Bytes are then supplied by bulk copies from the block.
+ */
+public class PatternByteSupplier implements SeekableByteSupplier {
+
+    /**
+     * Minimum size of the block the pattern is repeated into.
+     */
+    public static final int BLOCK_SIZE = 64 * 1024;
+
+    /**
+     * Largest pattern that may be read from a file.
+     */
+    public static final int MAX_FILE_PATTERN_SIZE = 16 * 1024 * 1024;
+
+    private final int patternLength;
+    private final ByteBuffer block; // read only, capacity is a multiple of patternLength
+    private long position = 0;
+
+    /**
+     * Creates a supplier repeating {@code pattern}.
+     *
+     * @param pattern the bytes to repeat
+     * @throws IllegalArgumentException if {@code pattern} is empty
+     */
+    public PatternByteSupplier(@NonNull byte[] pattern) throws IllegalArgumentException {
+        if (pattern.length == 0) {
+            throw new IllegalArgumentException("Received an empty pattern.");
+        }
+        patternLength = pattern.length;
+        block = initBlock(pattern);
+    }
+
+    /**
+     * Creates a supplier repeating a string.
+     *
+     * @param pattern string to repeat, converted to bytes using the default {@link Charset} for encoding
+     * @throws IllegalArgumentException if {@code pattern} is empty
+     * @see Charset#defaultCharset()
+     */
+    public PatternByteSupplier(String pattern) throws IllegalArgumentException {
+        this(pattern, Charset.defaultCharset() );
+    }
+
+    /**
+     * Creates a supplier repeating a string.
+     *
+     * @param pattern string to repeat
+     * @param charSet the charset to use for encoding
+     * @throws IllegalArgumentException if {@code pattern} is empty
+     */
+    public PatternByteSupplier(@NonNull String pattern, @NonNull Charset charSet) throws IllegalArgumentException {
+        this(pattern.getBytes(charSet) );
+    }
+
+    /**
+     * Creates a supplier repeating the content of a small file.
+     *
+     * @param patternFile file containing the bytes to repeat
+     * @throws FileReadException if the file cannot be read or is larger than {@link PatternByteSupplier#MAX_FILE_PATTERN_SIZE}
+     * @throws IllegalArgumentException if the file is empty
+     */
+    public PatternByteSupplier(@NonNull Path patternFile) throws FileReadException, IllegalArgumentException {
+        this(readPattern(patternFile) );
+    }
+
+    private static byte[] readPattern(Path patternFile) throws FileReadException {
+        try {
+            if (Files.size(patternFile) > MAX_FILE_PATTERN_SIZE) {
+                throw new FileReadException("The pattern file is larger than the maximum pattern size: " + patternFile);
+            }
+            return Files.readAllBytes(patternFile);
+        } catch (IOException e) {
+            throw new FileReadException("Unable to read the pattern file " + patternFile, e);
+        }
+    }
+
+    private static ByteBuffer initBlock(byte[] pattern) {
+        int repeats = Math.max(1, (BLOCK_SIZE + pattern.length - 1) / pattern.length);
+        var block = ByteBuffer.allocateDirect(repeats * pattern.length);
+        while (block.hasRemaining() ) {
+            block.put(pattern);
+        }
+        return block.clear()
+                    .asReadOnlyBuffer();
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public void position(long position) throws IllegalArgumentException {
+        if (position < 0) {
+            throw new IllegalArgumentException("Received a negative position.");
+        }
+        this.position = position;
+    }
+
+    @Override
+    public byte getAsByte() {
+        return block.get( (int) (position++ % patternLength) );
+    }
+
+    /**
+     * @param dst the buffer to fill
+     * @param position the position of the first byte to write to {@code dst}
+     * @return {@code dst.remaining()}, this supplier is never exhausted
+     */
+    @Override
+    public int fill(ByteBuffer dst, long position) {
+        int n = dst.remaining();
+        int index = (int) (position % patternLength);
+        while (dst.hasRemaining() ) {
+            int len = Math.min(dst.remaining(), block.capacity() - index);
+            dst.put(dst.position(), block, index, len); // absolute get, the block is never modified
+            dst.position(dst.position() + len);
+            index = 0;
+        }
+        return n;
+    }
+}
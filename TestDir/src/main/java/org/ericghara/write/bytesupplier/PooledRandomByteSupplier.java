@@ -0,0 +1,109 @@
+package org.ericghara.write.bytesupplier;
+
+import lombok.NonNull;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * A {@link SeekableByteSupplier} of bytes that look random but are copied from a pool of random
+ * bytes generated once per JVM.  Writing with this supplier is bound by memory copy speed rather than
+ * by random number generation.
+ * <br><br>
+ * The pool is {@link PooledRandomByteSupplier#POOL_SIZE} bytes of off-heap memory, allocated on first
+ * use.  A supplier reads the pool as a ring, beginning at its own offset.  Suppliers returned by
+ * {@link PooledRandomByteSupplier#forPath(Path)} begin at an offset derived from the path, so files have
+ * distinct content; however, content repeats every {@code POOL_SIZE} bytes and the content of two files
+ * overlaps wherever their rings do.  Where content must be unique use {@link KeyedRandomByteSupplier}.
+ */
+public class PooledRandomByteSupplier implements SeekableByteSupplier {
+
+    /**
+     * The size of the shared pool of random bytes.
+     */
+    public static final int POOL_SIZE = 64 * 1024 * 1024;
+
+    private final long offset;
+    private long position = 0;
+
+    /**
+     * Creates a supplier beginning at a random offset of the pool.
+     */
+    public PooledRandomByteSupplier() {
+        this(new SplittableRandom().nextInt(POOL_SIZE) );
+    }
+
+    /**
+     * Creates a supplier beginning at {@code offset} of the pool.
+     *
+     * @param offset position in the pool of the byte supplied at position {@code 0}
+     */
+    public PooledRandomByteSupplier(long offset) {
+        this.offset = Math.floorMod(offset, POOL_SIZE);
+    }
+
+    /**
+     * A supplier beginning at an offset of the pool derived from this supplier's offset and {@code path}.
+     *
+     * @param path a path identifying the file, typically relative to a {@link org.ericghara.core.TestDir TestDir}
+     * @return a new supplier, positioned at {@code 0}
+     */
+    @Override
+    public PooledRandomByteSupplier forPath(@NonNull Path path) {
+        return new PooledRandomByteSupplier(KeyedRandomByteSupplier.hash(offset, path) );
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public void position(long position) throws IllegalArgumentException {
+        if (position < 0) {
+            throw new IllegalArgumentException("Received a negative position.");
+        }
+        this.position = position;
+    }
+
+    @Override
+    public byte getAsByte() {
+        return Pool.BYTES.get(poolIndex(position++) );
+    }
+
+    /**
+     * @param dst the buffer to fill
+     * @param position the position of the first byte to write to {@code dst}
+     * @return {@code dst.remaining()}, this supplier is never exhausted
+     */
+    @Override
+    public int fill(ByteBuffer dst, long position) {
+        int n = dst.remaining();
+        int index = poolIndex(position);
+        while (dst.hasRemaining() ) {
+            int len = Math.min(dst.remaining(), POOL_SIZE - index);
+            dst.put(dst.position(), Pool.BYTES, index, len); // absolute get, the pool is never modified
+            dst.position(dst.position() + len);
+            index = 0;
+        }
+        return n;
+    }
+
+    private int poolIndex(long position) {
+        return (int) ( (offset + position % POOL_SIZE) % POOL_SIZE);
+    }
+
+    // initialization on demand holder
+    private static class Pool {
+
+        static final ByteBuffer BYTES = init();
+
+        static ByteBuffer init() {
+            var pool = ByteBuffer.allocateDirect(POOL_SIZE);
+            new RandomByteSupplier().fill(pool);
+            return pool.clear()
+                       .asReadOnlyBuffer();
+        }
+    }
+}
@@ -1,13 +1,18 @@
 package org.ericghara.write.bytesupplier;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
 
 public class RandomByteSupplier implements ByteSupplier {
 
     private static final int BYTES_PER_LONG = Long.BYTES;
     private static final int BITS_PER_BYTE = 8;
 
-    private final SplittableRandom random;
+    private final RandomGenerator random;
     private long l;
     private int i;
 
@@ -16,10 +21,25 @@ public class RandomByteSupplier implements ByteSupplier {
     }
 
     public RandomByteSupplier(SplittableRandom random) {
+        this( (RandomGenerator) random);
+    }
+
+    /**
+     * Creates a supplier of bytes drawn from {@code random}.  Each {@code long} from the generator
+     * yields eight bytes.
+     *
+     * @param random the source of randomness
+     * @see RandomGeneratorByteSupplier
+     */
+    public RandomByteSupplier(RandomGenerator random) {
         this.random = random;
         i = BYTES_PER_LONG;
     }
 
+    RandomGenerator generator() {
+        return random;
+    }
+
     void nextLong() {
         l = random.nextLong();
         i = 0;
@@ -38,4 +58,30 @@ public class RandomByteSupplier implements ByteSupplier {
         i++;
         return b;
     }
+
+    /**
+     * Fills {@code dst} a {@code long} at a time.  Any bytes remaining from a partially consumed
+     * {@code long} are written first, so the sequence of bytes is identical to that produced by
+     * repeated calls to {@link RandomByteSupplier#getAsByte()}.
+     *
+     * @param dst the buffer to fill
+     * @return {@code dst.remaining()}, this supplier is never exhausted
+     */
+    @Override
+    public int fill(ByteBuffer dst) {
+        int n = dst.remaining();
+        while (i < BYTES_PER_LONG && dst.hasRemaining() ) {
+            dst.put(getAsByte() );
+        }
+        ByteOrder order = dst.order();
+        dst.order(LITTLE_ENDIAN); // getAsByte supplies the least significant byte first
+        while (dst.remaining() >= BYTES_PER_LONG) {
+            dst.putLong(random.nextLong() );
+        }
+        dst.order(order);
+        while (dst.hasRemaining() ) {
+            dst.put(getAsByte() );
+        }
+        return n;
+    }
 }
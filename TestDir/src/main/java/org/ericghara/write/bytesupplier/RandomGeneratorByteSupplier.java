@@ -0,0 +1,150 @@
+package org.ericghara.write.bytesupplier;
+
+import lombok.NonNull;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.JumpableGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * A {@link RandomByteSupplier} backed by any {@link RandomGenerator} algorithm, such as
+ * {@code L64X128MixRandom} or {@code Xoshiro256PlusPlus}.  Like every {@code RandomByteSupplier}
+ * an instance is not safe to share between threads; instead each worker thread is given its own
+ * statistically independent stream:
+ * <ul>
+ *     <li>{@link RandomGeneratorByteSupplier#streams(String, long, int)} derives a fixed number of streams
+ *     from one root seed.  Assigning stream {@code i} to worker {@code i} makes a parallel build
+ *     reproducible.</li>
+ *     <li>{@link RandomGeneratorByteSupplier#split()} derives one new stream from an existing supplier.</li>
+ *     <li>{@link RandomGeneratorByteSupplier#perThread(String, long)} derives a stream for each thread on
+ *     its first use.</li>
+ * </ul>
+ * Streams are derived by jumping if the algorithm is a {@link JumpableGenerator}, which guarantees the streams
+ * do not overlap, otherwise by splitting a {@link SplittableGenerator}.
+ */
+public class RandomGeneratorByteSupplier extends RandomByteSupplier {
+
+    /**
+     * The algorithm used when none is specified.
+     */
+    public static final String DEFAULT_ALGORITHM = "L64X128MixRandom";
+
+    /**
+     * Creates a supplier of bytes drawn from {@code generator}.
+     *
+     * @param generator the source of randomness
+     */
+    public RandomGeneratorByteSupplier(@NonNull RandomGenerator generator) {
+        super(generator);
+    }
+
+    /**
+     * Creates a supplier using the default algorithm.
+     *
+     * @param seed the seed of the generator
+     */
+    public RandomGeneratorByteSupplier(long seed) {
+        this(DEFAULT_ALGORITHM, seed);
+    }
+
+    /**
+     * Creates a supplier using the named algorithm.
+     *
+     * @param algorithm the name of a {@link RandomGenerator} algorithm
+     * @param seed the seed of the generator
+     * @throws IllegalArgumentException if the algorithm is not found
+     * @see RandomGeneratorFactory#of(String)
+     */
+    public RandomGeneratorByteSupplier(@NonNull String algorithm, long seed) throws IllegalArgumentException {
+        this(RandomGeneratorFactory.of(algorithm).create(seed) );
+    }
+
+    /**
+     * Derives {@code count} independent suppliers from a single seed.  The same arguments always
+     * produce the same streams.
+     *
+     * @param algorithm the name of a jumpable or splittable {@link RandomGenerator} algorithm
+     * @param seed the seed of the root generator
+     * @param count the number of suppliers
+     * @return {@code count} suppliers, each with its own stream
+     * @throws IllegalArgumentException if the algorithm is not found, is neither jumpable nor splittable or
+     * {@code count} is negative
+     */
+    public static List<RandomGeneratorByteSupplier> streams(@NonNull String algorithm, long seed, int count)
+            throws IllegalArgumentException {
+        if (count < 0) {
+            throw new IllegalArgumentException("Received a negative count.");
+        }
+        RandomGenerator root = RandomGeneratorFactory.of(algorithm).create(seed);
+        if (root instanceof JumpableGenerator jumpable) {
+            return jumpable.jumps(count)
+                           .map(RandomGeneratorByteSupplier::new)
+                           .toList();
+        }
+        if (root instanceof SplittableGenerator splittable) {
+            return splittable.splits(count)
+                             .map(RandomGeneratorByteSupplier::new)
+                             .toList();
+        }
+        throw new IllegalArgumentException("The algorithm " + algorithm + " is neither jumpable nor splittable.");
+    }
+
+    /**
+     * Creates a supplier that gives each thread its own stream, derived from a root generator the first
+     * time the thread uses the supplier.  Threads do not contend after their first use.  Content is only
+     * reproducible if threads make their first use in the same order; for order independent reproducibility
+     * use {@link RandomGeneratorByteSupplier#streams(String, long, int)}.
+     *
+     * @param algorithm the name of a jumpable or splittable {@link RandomGenerator} algorithm
+     * @param seed the seed of the root generator
+     * @return a supplier safe to share between threads
+     * @throws IllegalArgumentException if the algorithm is not found or is neither jumpable nor splittable
+     */
+    public static ByteSupplier perThread(@NonNull String algorithm, long seed) throws IllegalArgumentException {
+        var root = new RandomGeneratorByteSupplier(algorithm, seed);
+        root.assertDivisible(algorithm);
+        ThreadLocal<RandomGeneratorByteSupplier> local = ThreadLocal.withInitial(() -> {
+            synchronized (root) {
+                return root.split();
+            }
+        });
+        return new ByteSupplier() {
+            @Override
+            public byte getAsByte() {
+                return local.get().getAsByte();
+            }
+
+            @Override
+            public int fill(ByteBuffer dst) {
+                return local.get().fill(dst);
+            }
+        };
+    }
+
+    /**
+     * Derives a new supplier with an independent stream.  The stream of this supplier is advanced.
+     *
+     * @return a new supplier
+     * @throws IllegalStateException if the generator is neither jumpable nor splittable
+     */
+    public RandomGeneratorByteSupplier split() throws IllegalStateException {
+        RandomGenerator generator = generator();
+        if (generator instanceof JumpableGenerator jumpable) {
+            return new RandomGeneratorByteSupplier(jumpable.copyAndJump() );
+        }
+        if (generator instanceof SplittableGenerator splittable) {
+            return new RandomGeneratorByteSupplier(splittable.split() );
+        }
+        throw new IllegalStateException("The generator is neither jumpable nor splittable.");
+    }
+
+    private void assertDivisible(String algorithm) throws IllegalArgumentException {
+        RandomGenerator generator = generator();
+        if (!(generator instanceof JumpableGenerator || generator instanceof SplittableGenerator) ) {
+            throw new IllegalArgumentException("The algorithm " + algorithm + " is neither jumpable nor splittable.");
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.ericghara.write.bytesupplier;
+
+/**
+ * A {@link ByteSupplier} that shapes its content to the region being written.  Before each write
+ * {@link org.ericghara.write.ByteWriter ByteWriter} calls {@link RegionAwareByteSupplier#beginRegion(long, long)}
+ * with the file position of the first byte and the number of bytes to be written.
+ * <br><br>
+ * A supplier of text records, for example, uses the region to end the write on a record boundary.
+ *
+ * @see org.ericghara.write.bytesupplier.text.RecordByteSupplier
+ */
+public interface RegionAwareByteSupplier extends ByteSupplier {
+
+    /**
+     * Announces that the next {@code numBytes} bytes supplied will be written beginning at {@code position}.
+     *
+     * @param position the file position of the first byte of the region
+     * @param numBytes the length of the region
+     */
+    void beginRegion(long position, long numBytes);
+}
@@ -0,0 +1,71 @@
+package org.ericghara.write.bytesupplier;
+
+import org.ericghara.exception.ByteUnderflowException;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * A {@link ByteSupplier} where the byte supplied at any position is fixed.  Any region may be
+ * read in any order, and from any thread, using {@link SeekableByteSupplier#fill(ByteBuffer, long)}.
+ * <br><br>
+ * {@link org.ericghara.write.ByteWriter ByteWriter} seeks a {@code SeekableByteSupplier} to the
+ * file position of the first byte it writes, so the content of a file at any offset is the byte
+ * supplied at that position.
+ */
+public interface SeekableByteSupplier extends ByteSupplier {
+
+    /**
+     * The position of the next byte supplied by {@link SeekableByteSupplier#getAsByte()} or
+     * {@link SeekableByteSupplier#fill(ByteBuffer)}.
+     *
+     * @return the current position
+     */
+    long position();
+
+    /**
+     * Sets the position of the next byte supplied by {@link SeekableByteSupplier#getAsByte()} or
+     * {@link SeekableByteSupplier#fill(ByteBuffer)}.
+     *
+     * @param position the new position
+     * @throws IllegalArgumentException if {@code position} is negative
+     */
+    void position(long position) throws IllegalArgumentException;
+
+    /**
+     * Fills {@code dst} with the bytes beginning at {@code position}.  The position of this supplier
+     * is not changed.  Implementations must be safe to call concurrently.
+     *
+     * @param dst the buffer to fill
+     * @param position the position of the first byte to write to {@code dst}
+     * @return the number of bytes written to {@code dst}, a short count signals the end of the supplier
+     */
+    int fill(ByteBuffer dst, long position);
+
+    /**
+     * A supplier for the content of the file at {@code path}.  Implementations that derive their content
+     * from the path return a new, independently positioned supplier.  The default returns {@code this}.
+     *
+     * @param path a path identifying the file, typically relative to a {@link org.ericghara.core.TestDir TestDir}
+     * @return a supplier for the file's content
+     */
+    default SeekableByteSupplier forPath(Path path) {
+        return this;
+    }
+
+    @Override
+    default int fill(ByteBuffer dst) {
+        int n = fill(dst, position() );
+        position(position() + n);
+        return n;
+    }
+
+    @Override
+    default byte getAsByte() throws ByteUnderflowException {
+        var b = ByteBuffer.allocate(1);
+        if (fill(b) < 1) {
+            throw new ByteUnderflowException("There are no remaining bytes to supply");
+        }
+        return b.get(0);
+    }
+}
@@ -0,0 +1,60 @@
+package org.ericghara.write.bytesupplier;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Spliterator;
+
+/**
+ * Drains a primitive {@link Spliterator} in bounded batches.  A spliterator of known size that fits
+ * the bound is drained with a single {@link Spliterator.OfPrimitive#forEachRemaining(Object)}, allowing
+ * the stream pipeline behind it to run fused.  A larger spliterator is split into ordered prefixes
+ * (as a parallel stream or a bare range source allows) until a prefix fits.  Anything else, e.g. a
+ * sequential {@code map} pipeline or an unsized {@code generate} stream, is drained one element at a time:
+ * a {@code forEachRemaining} cannot be stopped part way through, as a spliterator's state is unspecified
+ * once its action throws.
+ * <br><br>
+ * The spliterator is traversed on the calling thread, and no element beyond the {@code max} requested is
+ * read from it.
+ *
+ * @param <C> the primitive consumer type
+ * @param <S> the primitive spliterator type
+ */
+class SpliteratorDrain<C, S extends Spliterator.OfPrimitive<?, C, S>> {
+
+    private final Deque<S> pieces = new ArrayDeque<>(); // head is the next piece in encounter order
+
+    SpliteratorDrain(S spliterator) {
+        pieces.push(spliterator);
+    }
+
+    /**
+     * Passes up to {@code max} elements to {@code sink}.
+     *
+     * @param sink the consumer of the elements
+     * @param max the maximum number of elements to pass to {@code sink}
+     * @return the number of elements passed, less than {@code max} only when the spliterator is exhausted
+     */
+    long drain(C sink, long max) {
+        long count = 0;
+        while (count < max && !pieces.isEmpty() ) {
+            S piece = pieces.peek();
+            long size = piece.getExactSizeIfKnown();
+            long room = max - count;
+            if (size >= 0 && size <= room) {
+                piece.forEachRemaining(sink);
+                pieces.pop();
+                count += size;
+                continue;
+            }
+            S prefix = size > room ? piece.trySplit() : null;
+            if (prefix != null) {
+                pieces.push(prefix);
+            } else if (piece.tryAdvance(sink) ) {
+                count++;
+            } else {
+                pieces.pop();
+            }
+        }
+        return count;
+    }
+}
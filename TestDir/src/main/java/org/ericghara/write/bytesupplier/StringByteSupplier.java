@@ -68,4 +68,19 @@ public class StringByteSupplier implements ByteSupplier {
             throw new ByteUnderflowException("There are no remaining bytes to supply", e);
         }
     }
+
+    /**
+     * Copies as many of the remaining bytes as fit into {@code dst}.
+     *
+     * @param dst the buffer to fill
+     * @return the number of bytes written, less than {@code dst.remaining()} once the string is exhausted
+     */
+    @Override
+    public int fill(ByteBuffer dst) {
+        int n = Math.min(dst.remaining(), bytes.remaining() );
+        dst.put(dst.position(), bytes, bytes.position(), n);
+        dst.position(dst.position() + n);
+        bytes.position(bytes.position() + n);
+        return n;
+    }
 }
@@ -0,0 +1,23 @@
+package org.ericghara.write.bytesupplier;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A {@link ByteSupplier} that can write its bytes directly to a channel, without passing them through
+ * an intermediate buffer.  {@link org.ericghara.write.ByteWriter ByteWriter} uses
+ * {@link TransferableByteSupplier#transferTo(WritableByteChannel, long)} in place of its buffer loop.
+ */
+public interface TransferableByteSupplier extends ByteSupplier {
+
+    /**
+     * Writes the next {@code count} bytes of this supplier to {@code target}, beginning at the target's
+     * current position.
+     *
+     * @param target the channel to write to
+     * @param count the number of bytes to write
+     * @return the number of bytes written, a short count signals the end of the supplier
+     * @throws IOException if an I/O error occurs while reading the source or writing the target
+     */
+    long transferTo(WritableByteChannel target, long count) throws IOException;
+}
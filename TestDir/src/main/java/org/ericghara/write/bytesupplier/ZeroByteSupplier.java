@@ -0,0 +1,51 @@
+package org.ericghara.write.bytesupplier;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link SeekableByteSupplier} of zeros.
+ * <br><br>
+ * {@link org.ericghara.write.ByteWriter ByteWriter} recognizes this supplier: bytes beyond the end of the file
+ * are not written but left as a hole, so the file is sparse wherever the filesystem supports it.  Only bytes
+ * overwriting existing content are written.
+ */
+public class ZeroByteSupplier implements SeekableByteSupplier {
+
+    private static final ByteBuffer ZEROS = ByteBuffer.allocateDirect(4096).asReadOnlyBuffer();
+
+    private long position = 0;
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public void position(long position) throws IllegalArgumentException {
+        if (position < 0) {
+            throw new IllegalArgumentException("Received a negative position.");
+        }
+        this.position = position;
+    }
+
+    @Override
+    public byte getAsByte() {
+        position++;
+        return 0;
+    }
+
+    /**
+     * @param dst the buffer to fill
+     * @param position ignored, every position is zero
+     * @return {@code dst.remaining()}, this supplier is never exhausted
+     */
+    @Override
+    public int fill(ByteBuffer dst, long position) {
+        int n = dst.remaining();
+        while (dst.hasRemaining() ) {
+            dst.put(ZEROS.duplicate()
+                         .limit(Math.min(dst.remaining(), ZEROS.capacity() ) ) );
+        }
+        return n;
+    }
+}
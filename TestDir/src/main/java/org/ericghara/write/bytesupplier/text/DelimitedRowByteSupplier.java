@@ -0,0 +1,147 @@
+package org.ericghara.write.bytesupplier.text;
+
+import lombok.NonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Supplies delimited rows (e.g. CSV) with a configurable schema.  Text fields are quoted, numeric fields are not.
+ * Rows are terminated by {@code '\n'}.
+ * <br><br>
+ * A region ends on a row boundary without changing the values of any row.  A region ends with a filler row of
+ * empty columns whose last column holds spaces to make the row end exactly at the end of the region, or with a
+ * line of spaces if the region is shorter than a row of empty columns.  A schema may instead end with a
+ * {@link TextFields#padding()} column, which is empty except in the last row of a region, where it holds those
+ * spaces; a filler row is then only needed if no row fits.
+ * <br><br>
+ * Example:
+ * <pre>
+ *     var schema = new LinkedHashMap&lt;String, TextField&gt;();
+ *     schema.put("id", TextFields.sequence(1) );
+ *     schema.put("price", TextFields.gaussian(100, 15, 2) );
+ *     schema.put("region", TextFields.choice("north", "south") );
+ *     new DelimitedRowByteSupplier(schema, ',', true, RandomGeneratorFactory.of("L64X128MixRandom").create(42) );
+ * </pre>
+ */
+public class DelimitedRowByteSupplier extends RecordByteSupplier {
+
+    private static final byte QUOTE = '"';
+    private static final byte SPACE = ' ';
+    private static final byte NEWLINE = '\n';
+
+    private final TextField[] fields;
+    private final byte delimiter;
+    private final byte[] header; // null if disabled
+    private final boolean padded; // whether the last column is a padding column
+
+    /**
+     * Creates a supplier of comma separated rows, preceded by a header row at the start of each file.
+     *
+     * @param schema the column names and fields, in column order (e.g. a {@link java.util.LinkedHashMap}),
+     *               optionally ending with a {@link TextFields#padding()} column
+     * @param random the source of randomness
+     * @throws IllegalArgumentException if a padding column is not the last column or a column name contains an
+     * unsupported character
+     */
+    public DelimitedRowByteSupplier(@NonNull Map<String, TextField> schema, @NonNull RandomGenerator random)
+            throws IllegalArgumentException {
+        this(schema, ',', true, random);
+    }
+
+    /**
+     * Creates a supplier of delimited rows.
+     *
+     * @param schema the column names and fields, in column order (e.g. a {@link java.util.LinkedHashMap}),
+     *               optionally ending with a {@link TextFields#padding()} column
+     * @param delimiter the printable ASCII character separating fields, not a quote or space
+     * @param header whether a row of quoted column names begins each file
+     * @param random the source of randomness
+     * @throws IllegalArgumentException if a padding column is not the last column, a column name contains an
+     * unsupported character or the delimiter is invalid
+     */
+    public DelimitedRowByteSupplier(@NonNull Map<String, TextField> schema, char delimiter, boolean header,
+                                    @NonNull RandomGenerator random) throws IllegalArgumentException {
+        super(random, DEFAULT_MAX_RECORD_SIZE);
+        if (schema.isEmpty() ) {
+            throw new IllegalArgumentException("Received an empty schema.");
+        }
+        if ( (delimiter < ' ' && delimiter != '\t') || delimiter > '~' || delimiter == '"' || delimiter == ' ') {
+            throw new IllegalArgumentException("Received an invalid delimiter: " + delimiter);
+        }
+        this.fields = schema.values().toArray(TextField[]::new);
+        for (int i = 0; i < fields.length - 1; i++) {
+            if (fields[i] == TextFields.PADDING) {
+                throw new IllegalArgumentException("A padding column must be the last column.");
+            }
+        }
+        this.padded = fields[fields.length - 1] == TextFields.PADDING;
+        this.delimiter = (byte) delimiter;
+        this.header = header ? encodeHeader(List.copyOf(schema.keySet() ) ) : null;
+    }
+
+    @Override
+    protected void encode(ByteBuffer out, RandomGenerator random) {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                out.put(delimiter);
+            }
+            TextFields.putValue(out, fields[i], random);
+        }
+        out.put(NEWLINE);
+    }
+
+    // without a padding column the last row would be padded inside a value
+    @Override
+    protected boolean padsRecords() {
+        return padded;
+    }
+
+    // a row of empty columns
+    @Override
+    protected int minFillerSize() {
+        return fields.length;
+    }
+
+    // empty columns, with spaces in the last column
+    @Override
+    protected void filler(ByteBuffer out, int numBytes) {
+        if (numBytes < fields.length) {
+            super.filler(out, numBytes); // too short for a row
+            return;
+        }
+        for (int i = 1; i < fields.length; i++) {
+            out.put(delimiter);
+        }
+        for (int i = fields.length; i < numBytes; i++) {
+            out.put(SPACE);
+        }
+        out.put(NEWLINE);
+    }
+
+    @Override
+    protected byte[] header() {
+        return header;
+    }
+
+    private byte[] encodeHeader(List<String> names) throws IllegalArgumentException {
+        var header = new ByteArrayOutputStream();
+        byte[][] encoded = TextFields.encodeAll(names);
+        for (int i = 0; i < encoded.length; i++) {
+            if (i > 0) {
+                header.write(delimiter);
+            }
+            header.write(QUOTE);
+            header.writeBytes(encoded[i]);
+            header.write(QUOTE);
+        }
+        header.write(NEWLINE);
+        if (header.size() > DEFAULT_MAX_RECORD_SIZE) {
+            throw new IllegalArgumentException("The header is longer than the maximum record size.");
+        }
+        return header.toByteArray();
+    }
+}
@@ -0,0 +1,58 @@
+package org.ericghara.write.bytesupplier.text;
+
+import lombok.NonNull;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Supplies newline delimited JSON: one flat object per line, with a member for each field of the schema.
+ * Text fields are JSON strings, numeric fields are JSON numbers.
+ * <br><br>
+ * Example line: <code>{"id":1,"level":"INFO","latency":12.50}</code>
+ */
+public class JsonLinesByteSupplier extends RecordByteSupplier {
+
+    private static final byte[] END = "}\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final TextField[] fields;
+    private final byte[][] keys; // {"name": for the first member, ,"name": for the rest
+
+    /**
+     * Creates a supplier of JSON objects.
+     *
+     * @param schema the member names and fields, in member order (e.g. a {@link java.util.LinkedHashMap})
+     * @param random the source of randomness
+     * @throws IllegalArgumentException if the schema is empty, contains {@link TextFields#padding()} or a member
+     * name contains an unsupported character
+     */
+    public JsonLinesByteSupplier(@NonNull Map<String, TextField> schema, @NonNull RandomGenerator random)
+            throws IllegalArgumentException {
+        super(random, DEFAULT_MAX_RECORD_SIZE);
+        if (schema.isEmpty() ) {
+            throw new IllegalArgumentException("Received an empty schema.");
+        }
+        this.fields = schema.values().stream()
+                            .map(TextFields::notPadding)
+                            .toArray(TextField[]::new);
+        List<String> names = List.copyOf(schema.keySet() );
+        TextFields.encodeAll(names);
+        this.keys = new byte[names.size()][];
+        for (int i = 0; i < keys.length; i++) {
+            String key = (i == 0 ? "{\"" : ",\"") + names.get(i) + "\":";
+            keys[i] = key.getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    @Override
+    protected void encode(ByteBuffer out, RandomGenerator random) {
+        for (int i = 0; i < fields.length; i++) {
+            out.put(keys[i]);
+            TextFields.putValue(out, fields[i], random);
+        }
+        out.put(END);
+    }
+}
@@ -0,0 +1,106 @@
+package org.ericghara.write.bytesupplier.text;
+
+import lombok.NonNull;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Supplies timestamped log lines of the form:
+ * <pre>
+ *     2022-01-01T00:00:00.042Z INFO  [worker-3] org.example.Service - request handled in 12 ms
+ * </pre>
+ * Each part of the line is a {@link TextField}, so any of them may be replaced.
+ */
+public class LogLineByteSupplier extends RecordByteSupplier {
+
+    /**
+     * The first timestamp of the default timestamp field, 2022-01-01T00:00:00Z.
+     */
+    public static final long DEFAULT_START_MILLIS = 1_640_995_200_000L;
+
+    private static final byte SPACE = ' ';
+    private static final byte OPEN = '[';
+    private static final byte CLOSE = ']';
+    private static final byte[] SEPARATOR = {' ', '-', ' '};
+    private static final byte NEWLINE = '\n';
+
+    private static final List<String> VOCABULARY = List.of("request", "handled", "in", "ms", "user", "session",
+            "started", "completed", "failed", "retrying", "connection", "to", "database", "cache", "miss", "hit",
+            "queue", "message", "received", "sent", "timeout", "after", "bytes", "written", "read", "file", "opened",
+            "closed", "for", "id", "with", "status", "ok", "error", "scheduled", "task", "batch", "of", "records");
+
+    private final TextField timestamp;
+    private final TextField level;
+    private final TextField thread;
+    private final TextField logger;
+    private final TextField message;
+
+    /**
+     * Creates a supplier with default fields: timestamps from {@link LogLineByteSupplier#DEFAULT_START_MILLIS}
+     * about 100 ms apart, mostly {@code INFO} levels, 16 worker threads, a handful of loggers and messages of
+     * 3 to 16 words.
+     *
+     * @param random the source of randomness
+     */
+    public LogLineByteSupplier(@NonNull RandomGenerator random) {
+        this(TextFields.timestamp(DEFAULT_START_MILLIS, r -> (long) (r.nextExponential() * 100) ),
+                TextFields.choice(defaultLevels() ),
+                TextFields.choice("worker-1", "worker-2", "worker-3", "worker-4", "worker-5", "worker-6", "worker-7",
+                        "worker-8", "worker-9", "worker-10", "worker-11", "worker-12", "worker-13", "worker-14",
+                        "worker-15", "worker-16"),
+                TextFields.choice("org.example.Service", "org.example.Repository", "org.example.Controller",
+                        "org.example.Scheduler", "org.example.Client"),
+                TextFields.words(VOCABULARY, 3, 16),
+                random);
+    }
+
+    /**
+     * Creates a supplier from the given fields.
+     *
+     * @param timestamp the timestamp field
+     * @param level the level field
+     * @param thread the thread name field
+     * @param logger the logger name field
+     * @param message the message field
+     * @param random the source of randomness
+     * @throws IllegalArgumentException if any field is {@link TextFields#padding()}
+     */
+    public LogLineByteSupplier(@NonNull TextField timestamp, @NonNull TextField level, @NonNull TextField thread,
+                               @NonNull TextField logger, @NonNull TextField message,
+                               @NonNull RandomGenerator random) throws IllegalArgumentException {
+        super(random, DEFAULT_MAX_RECORD_SIZE);
+        this.timestamp = TextFields.notPadding(timestamp);
+        this.level = TextFields.notPadding(level);
+        this.thread = TextFields.notPadding(thread);
+        this.logger = TextFields.notPadding(logger);
+        this.message = TextFields.notPadding(message);
+    }
+
+    @Override
+    protected void encode(ByteBuffer out, RandomGenerator random) {
+        timestamp.encode(out, random);
+        out.put(SPACE);
+        level.encode(out, random);
+        out.put(SPACE)
+           .put(OPEN);
+        thread.encode(out, random);
+        out.put(CLOSE)
+           .put(SPACE);
+        logger.encode(out, random);
+        out.put(SEPARATOR);
+        message.encode(out, random);
+        out.put(NEWLINE);
+    }
+
+    private static LinkedHashMap<String, Double> defaultLevels() {
+        var levels = new LinkedHashMap<String, Double>();
+        levels.put("INFO ", 80D);
+        levels.put("DEBUG", 10D);
+        levels.put("WARN ", 7D);
+        levels.put("ERROR", 3D);
+        return levels;
+    }
+}
@@ -0,0 +1,238 @@
+package org.ericghara.write.bytesupplier.text;
+
+import lombok.NonNull;
+import org.ericghara.write.bytesupplier.RegionAwareByteSupplier;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+
+/**
+ * Supplies newline terminated text records.  Subclasses encode one record at a time directly into a
+ * reusable buffer, which is then copied in bulk to the destination.
+ * <br><br>
+ * When a {@link org.ericghara.write.ByteWriter ByteWriter} announces a region (see
+ * {@link RegionAwareByteSupplier}), the write ends on a record boundary: the last record that fits is padded
+ * with spaces (by default before its newline) to end exactly at the end of the region.  If no record fits, a
+ * {@link RecordByteSupplier#filler(ByteBuffer, int) filler} record is supplied instead.  A subclass whose records
+ * cannot be padded (see {@link RecordByteSupplier#padsRecords()}) ends every region with a filler record,
+ * stopping early rather than leave less than {@link RecordByteSupplier#minFillerSize()} bytes for it.  A region
+ * beginning at position {@code 0} starts with the {@link RecordByteSupplier#header()}, if any.  The header is
+ * never padded, if no record fits after it the region ends with a filler record.
+ * <br><br>
+ * Without a region, records are supplied endlessly and never padded.
+ */
+public abstract class RecordByteSupplier implements RegionAwareByteSupplier {
+
+    /**
+     * The default maximum length of one record in bytes.
+     */
+    public static final int DEFAULT_MAX_RECORD_SIZE = 16 * 1024;
+
+    private static final byte SPACE = ' ';
+    private static final byte NEWLINE = '\n';
+
+    private final RandomGenerator random;
+    private final int maxRecordSize;
+    // capacity allows a record to be padded by up to another record's length
+    private ByteBuffer current; // record being supplied, between position and limit
+    private ByteBuffer next; // the following record, encoded in advance
+    private boolean started = false;
+    private boolean pendingHeader = false;
+    private long budget = -1; // bytes remaining in the region, -1 if there is no region
+
+    /**
+     * @param random the source of randomness of all fields
+     * @param maxRecordSize the maximum length of a record, including its newline
+     * @throws IllegalArgumentException if {@code maxRecordSize} is not positive
+     */
+    protected RecordByteSupplier(@NonNull RandomGenerator random, int maxRecordSize) throws IllegalArgumentException {
+        if (maxRecordSize < 1) {
+            throw new IllegalArgumentException("Received a non-positive maxRecordSize.");
+        }
+        this.random = random;
+        this.maxRecordSize = maxRecordSize;
+        current = ByteBuffer.allocate(2 * maxRecordSize).flip();
+        next = ByteBuffer.allocate(2 * maxRecordSize).flip();
+    }
+
+    /**
+     * Encodes one record, including its terminating newline, at the position of {@code out}.
+     *
+     * @param out the record buffer, with at least the maximum record size remaining
+     * @param random the source of randomness
+     * @throws java.nio.BufferOverflowException if the record is longer than the maximum record size
+     */
+    protected abstract void encode(ByteBuffer out, RandomGenerator random);
+
+    /**
+     * The header written at the start of a file, including its terminating newline.
+     *
+     * @return the header, or {@code null} if records have no header
+     */
+    protected byte[] header() {
+        return null;
+    }
+
+    /**
+     * The index within {@code record} at which padding spaces are inserted.  The default is before the
+     * terminating newline.
+     *
+     * @param record a complete record, between position and limit
+     * @return an index between the record's position and limit
+     */
+    protected int padIndex(ByteBuffer record) {
+        return record.limit() - 1;
+    }
+
+    /**
+     * Whether the last record of a region is padded, see {@link RecordByteSupplier#padIndex(ByteBuffer)}.  If
+     * not, the region ends with a {@link RecordByteSupplier#filler(ByteBuffer, int) filler} record.  The default
+     * is {@code true}.
+     *
+     * @return whether records are padded
+     */
+    protected boolean padsRecords() {
+        return true;
+    }
+
+    /**
+     * The length of the shortest filler record which is not a line of spaces, e.g. a row of empty columns.
+     * Records which are not padded are not supplied if they would leave a shorter remainder of the region.  The
+     * default is {@code 1}.
+     *
+     * @return the minimum filler length, at least {@code 1}
+     */
+    protected int minFillerSize() {
+        return 1;
+    }
+
+    /**
+     * Encodes a record of exactly {@code numBytes}, including its terminating newline, ending a region in which
+     * no further record fits.  The default is a line of spaces.
+     *
+     * @param out the record buffer, with at least {@code numBytes} remaining
+     * @param numBytes the length of the record, at least {@code 1}
+     */
+    protected void filler(ByteBuffer out, int numBytes) {
+        for (int i = 1; i < numBytes; i++) {
+            out.put(SPACE);
+        }
+        out.put(NEWLINE);
+    }
+
+    /**
+     * Starts a new region.  Any partially supplied record is discarded.
+     *
+     * @param position the file position of the first byte of the region
+     * @param numBytes the length of the region
+     */
+    @Override
+    public void beginRegion(long position, long numBytes) {
+        current.position(current.limit() );
+        budget = numBytes > 0 ? numBytes : -1;
+        pendingHeader = position == 0 && Objects.nonNull(header() );
+    }
+
+    @Override
+    public byte getAsByte() {
+        if (!current.hasRemaining() ) {
+            advance();
+        }
+        consumed(1);
+        return current.get();
+    }
+
+    /**
+     * @param dst the buffer to fill
+     * @return {@code dst.remaining()}, this supplier is never exhausted
+     */
+    @Override
+    public int fill(ByteBuffer dst) {
+        int n = dst.remaining();
+        while (dst.hasRemaining() ) {
+            if (!current.hasRemaining() ) {
+                advance();
+            }
+            int len = Math.min(dst.remaining(), current.remaining() );
+            dst.put(dst.position(), current, current.position(), len);
+            dst.position(dst.position() + len);
+            current.position(current.position() + len);
+            consumed(len);
+        }
+        return n;
+    }
+
+    private void consumed(int numBytes) {
+        if (budget > 0) {
+            budget -= numBytes;
+            budget = budget == 0 ? -1 : budget;
+        }
+    }
+
+    // current must be empty
+    private void advance() {
+        if (!started) {
+            encodeNext();
+            started = true;
+        }
+        if (pendingHeader) {
+            pendingHeader = false;
+            byte[] header = header();
+            if (budget >= 0 && !fits(header.length) ) {
+                filler( (int) budget);
+                return;
+            }
+            current.clear()
+                   .put(header)
+                   .flip();
+            return;
+        }
+        if (budget >= 0 && !fits(next.remaining() ) ) {
+            filler( (int) budget);
+            return;
+        }
+        ByteBuffer supplied = current;
+        current = next;
+        next = supplied;
+        encodeNext();
+        if (budget >= 0 && padsRecords() ) {
+            long rest = budget - current.remaining();
+            if (rest > 0 && rest < next.remaining() ) {
+                pad( (int) rest);
+            }
+        }
+    }
+
+    // whether a record fits in the region, leaving room for a filler if records are not padded
+    private boolean fits(int length) {
+        long rest = budget - length;
+        return rest == 0 || (rest > 0 && (padsRecords() || rest >= minFillerSize() ) );
+    }
+
+    private void encodeNext() {
+        next.clear()
+            .limit(maxRecordSize);
+        encode(next, random);
+        next.flip();
+    }
+
+    // inserts spaces at the record's pad index
+    private void pad(int numSpaces) {
+        int end = current.limit();
+        int at = padIndex(current.duplicate() );
+        current.limit(end + numSpaces);
+        for (int i = end - 1; i >= at; i--) {
+            current.put(i + numSpaces, current.get(i) );
+        }
+        for (int i = at; i < at + numSpaces; i++) {
+            current.put(i, SPACE);
+        }
+    }
+
+    private void filler(int numBytes) {
+        current.clear();
+        filler(current, numBytes);
+        current.flip();
+    }
+}
@@ -0,0 +1,33 @@
+package org.ericghara.write.bytesupplier.text;
+
+import java.nio.ByteBuffer;
+import java.util.random.RandomGenerator;
+
+/**
+ * A field of a text record.  Each call to {@link TextField#encode(ByteBuffer, RandomGenerator)} encodes
+ * one value directly into the record buffer as ASCII, without creating a {@link String}.
+ * <br><br>
+ * Fields may hold state (e.g. the last timestamp) and should not be shared between suppliers.
+ *
+ * @see TextFields
+ */
+public interface TextField {
+
+    /**
+     * Encodes a value drawn using {@code random}.
+     *
+     * @param out the record buffer
+     * @param random the source of randomness
+     */
+    void encode(ByteBuffer out, RandomGenerator random);
+
+    /**
+     * Whether the value is text, which is quoted by formats such as delimited rows and JSON.  Values
+     * never contain quotes, backslashes or control characters.
+     *
+     * @return {@code true} if the value should be quoted
+     */
+    default boolean quoted() {
+        return true;
+    }
+}
@@ -0,0 +1,366 @@
+package org.ericghara.write.bytesupplier.text;
+
+import lombok.NonNull;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * Factories for common {@link TextField}s.  Values are drawn from caller supplied distributions, for example:
+ * <pre>
+ *     TextFields.longs(r -&gt; r.nextLong(0, 1000) )
+ *     TextFields.doubles(r -&gt; r.nextGaussian(100, 15), 2)
+ *     TextFields.timestamp(startMillis, r -&gt; (long) (r.nextExponential() * 250) )
+ *     TextFields.choice(Map.of("GET", 8.0, "POST", 2.0) )
+ * </pre>
+ * Text values are restricted to printable ASCII without quotes or backslashes, so they can be embedded in
+ * any supported format without escaping.
+ */
+public final class TextFields {
+
+    private static final byte QUOTE = '"';
+    private static final byte SPACE = ' ';
+    private static final byte[] LONG_MIN_DIGITS = "9223372036854775808".getBytes(StandardCharsets.US_ASCII);
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final int MAX_DECIMALS = 9;
+
+    // encodes nothing, recognized by DelimitedRowByteSupplier
+    static final TextField PADDING = new TextField() {
+        @Override
+        public void encode(ByteBuffer out, RandomGenerator random) {}
+
+        @Override
+        public boolean quoted() {
+            return false;
+        }
+    };
+
+    private TextFields() {}
+
+    /**
+     * An optional empty column ending each row of a {@link DelimitedRowByteSupplier}.  When a row is padded to
+     * end exactly at the end of a region, the spaces are put in this column, so no other value is changed.  Other
+     * suppliers reject this field.
+     *
+     * @return the padding field
+     */
+    public static TextField padding() {
+        return PADDING;
+    }
+
+    /**
+     * A counter, starting at {@code start} and incremented by one per record.
+     *
+     * @param start the first value
+     * @return a numeric field
+     */
+    public static TextField sequence(long start) {
+        return new TextField() {
+            private long next = start;
+
+            @Override
+            public void encode(ByteBuffer out, RandomGenerator random) {
+                putDecimal(out, next++);
+            }
+
+            @Override
+            public boolean quoted() {
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Integers drawn from {@code distribution}.
+     *
+     * @param distribution draws a value using the supplier's random generator
+     * @return a numeric field
+     */
+    public static TextField longs(@NonNull ToLongFunction<RandomGenerator> distribution) {
+        return new TextField() {
+            @Override
+            public void encode(ByteBuffer out, RandomGenerator random) {
+                putDecimal(out, distribution.applyAsLong(random) );
+            }
+
+            @Override
+            public boolean quoted() {
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Integers uniformly distributed on {@code [min, max)}.
+     *
+     * @param min the smallest value
+     * @param max the bound of the values (exclusive)
+     * @return a numeric field
+     * @throws IllegalArgumentException if {@code min >= max}
+     */
+    public static TextField uniform(long min, long max) throws IllegalArgumentException {
+        if (min >= max) {
+            throw new IllegalArgumentException("The min must be less than the max.");
+        }
+        return longs(r -> r.nextLong(min, max) );
+    }
+
+    /**
+     * Decimal numbers drawn from {@code distribution}, rounded to {@code decimals} decimal places.
+     *
+     * @param distribution draws a finite value using the supplier's random generator
+     * @param decimals the number of decimal places, {@code 0 <= decimals <= 9}
+     * @return a numeric field
+     * @throws IllegalArgumentException if {@code decimals} is out of range
+     */
+    public static TextField doubles(@NonNull ToDoubleFunction<RandomGenerator> distribution, int decimals)
+            throws IllegalArgumentException {
+        if (decimals < 0 || decimals > MAX_DECIMALS) {
+            throw new IllegalArgumentException("The decimals must be between 0 and " + MAX_DECIMALS);
+        }
+        long scale = (long) Math.pow(10, decimals);
+        return new TextField() {
+            @Override
+            public void encode(ByteBuffer out, RandomGenerator random) {
+                double value = distribution.applyAsDouble(random);
+                long scaled = Math.round(Math.abs(value) * scale);
+                if (value < 0 && scaled != 0) {
+                    out.put( (byte) '-');
+                }
+                putDecimal(out, scaled / scale);
+                if (decimals > 0) {
+                    out.put( (byte) '.');
+                    putPadded(out, scaled % scale, decimals);
+                }
+            }
+
+            @Override
+            public boolean quoted() {
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Normally distributed decimal numbers.
+     *
+     * @param mean the mean
+     * @param stdDev the standard deviation
+     * @param decimals the number of decimal places, {@code 0 <= decimals <= 9}
+     * @return a numeric field
+     * @throws IllegalArgumentException if {@code decimals} is out of range
+     */
+    public static TextField gaussian(double mean, double stdDev, int decimals) throws IllegalArgumentException {
+        return doubles(r -> r.nextGaussian(mean, stdDev), decimals);
+    }
+
+    /**
+     * One of {@code values}, chosen uniformly.
+     *
+     * @param values the possible values
+     * @return a text field
+     * @throws IllegalArgumentException if there are no values or a value contains an unsupported character
+     */
+    public static TextField choice(@NonNull String... values) throws IllegalArgumentException {
+        double[] weights = new double[values.length];
+        Arrays.fill(weights, 1D);
+        return choice(values, weights);
+    }
+
+    /**
+     * One of the keys of {@code weights}, chosen with probability proportional to its weight.  For output
+     * reproducible from a seed, {@code weights} must have a stable iteration order (e.g. a
+     * {@link java.util.LinkedHashMap LinkedHashMap}).
+     *
+     * @param weights the relative frequency of each value
+     * @return a text field
+     * @throws IllegalArgumentException if there are no values, a weight is negative or not finite, or a value
+     * contains an unsupported character
+     */
+    public static TextField choice(@NonNull Map<String, Double> weights) throws IllegalArgumentException {
+        String[] values = new String[weights.size()];
+        double[] w = new double[weights.size()];
+        int i = 0;
+        for (var entry : weights.entrySet() ) {
+            values[i] = entry.getKey();
+            w[i++] = entry.getValue();
+        }
+        return choice(values, w);
+    }
+
+    private static TextField choice(String[] values, double[] weights) throws IllegalArgumentException {
+        if (values.length == 0) {
+            throw new IllegalArgumentException("Received no values.");
+        }
+        byte[][] encoded = encodeAll(Arrays.asList(values) );
+        double[] cumulative = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            if (!Double.isFinite(weights[i]) || weights[i] < 0) {
+                throw new IllegalArgumentException("Received an invalid weight: " + weights[i]);
+            }
+            sum += weights[i];
+            cumulative[i] = sum;
+        }
+        if (!(sum > 0) ) {
+            throw new IllegalArgumentException("Received weights that do not sum to a positive value.");
+        }
+        double total = sum;
+        return (out, random) -> {
+            int i = Arrays.binarySearch(cumulative, random.nextDouble(total) );
+            i = i < 0 ? -i - 1 : i + 1; // first cumulative weight greater than the draw
+            out.put(encoded[Math.min(i, encoded.length - 1)]);
+        };
+    }
+
+    /**
+     * Space separated words drawn uniformly from {@code vocabulary}.
+     *
+     * @param vocabulary the possible words
+     * @param minWords the smallest number of words
+     * @param maxWords the largest number of words
+     * @return a text field
+     * @throws IllegalArgumentException if the vocabulary is empty, a word contains an unsupported character, or
+     * {@code 1 <= minWords <= maxWords} does not hold
+     */
+    public static TextField words(@NonNull List<String> vocabulary, int minWords, int maxWords)
+            throws IllegalArgumentException {
+        if (vocabulary.isEmpty() ) {
+            throw new IllegalArgumentException("Received an empty vocabulary.");
+        }
+        if (minWords < 1 || minWords > maxWords) {
+            throw new IllegalArgumentException("Received an invalid range of word counts.");
+        }
+        byte[][] encoded = encodeAll(vocabulary);
+        return (out, random) -> {
+            int numWords = random.nextInt(minWords, maxWords + 1);
+            for (int i = 0; i < numWords; i++) {
+                if (i > 0) {
+                    out.put(SPACE);
+                }
+                out.put(encoded[random.nextInt(encoded.length)]);
+            }
+        };
+    }
+
+    /**
+     * Increasing UTC timestamps in ISO-8601 format with millisecond precision, e.g.
+     * {@code 2022-05-01T12:30:00.125Z}.
+     *
+     * @param startMillis the first timestamp, in milliseconds since the epoch
+     * @param stepMillis draws the (non-negative) milliseconds between consecutive records
+     * @return a text field
+     */
+    public static TextField timestamp(long startMillis, @NonNull ToLongFunction<RandomGenerator> stepMillis) {
+        return new TextField() {
+            private long millis = startMillis;
+
+            @Override
+            public void encode(ByteBuffer out, RandomGenerator random) {
+                putTimestamp(out, millis);
+                millis += Math.max(0, stepMillis.applyAsLong(random) );
+            }
+        };
+    }
+
+    // encodes the field, quoting text values
+    static void putValue(ByteBuffer out, TextField field, RandomGenerator random) {
+        boolean quoted = field.quoted();
+        if (quoted) {
+            out.put(QUOTE);
+        }
+        field.encode(out, random);
+        if (quoted) {
+            out.put(QUOTE);
+        }
+    }
+
+    static void putDecimal(ByteBuffer out, long value) {
+        if (value < 0) {
+            out.put( (byte) '-');
+            if (value == Long.MIN_VALUE) {
+                out.put(LONG_MIN_DIGITS);
+                return;
+            }
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        putPadded(out, value, digits);
+    }
+
+    // value >= 0, zero padded to width digits
+    static void putPadded(ByteBuffer out, long value, int width) {
+        int start = out.position();
+        for (int i = start + width - 1; i >= start; i--) {
+            out.put(i, (byte) ('0' + value % 10) );
+            value /= 10;
+        }
+        out.position(start + width);
+    }
+
+    static void putTimestamp(ByteBuffer out, long epochMillis) {
+        long days = Math.floorDiv(epochMillis, MILLIS_PER_DAY);
+        long millisOfDay = Math.floorMod(epochMillis, MILLIS_PER_DAY);
+        // civil from days, H. Hinnant
+        long z = days + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long dayOfEra = z - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        long day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        long month = mp < 10 ? mp + 3 : mp - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        putPadded(out, year, 4);
+        out.put( (byte) '-');
+        putPadded(out, month, 2);
+        out.put( (byte) '-');
+        putPadded(out, day, 2);
+        out.put( (byte) 'T');
+        putPadded(out, millisOfDay / 3_600_000, 2);
+        out.put( (byte) ':');
+        putPadded(out, millisOfDay / 60_000 % 60, 2);
+        out.put( (byte) ':');
+        putPadded(out, millisOfDay / 1000 % 60, 2);
+        out.put( (byte) '.');
+        putPadded(out, millisOfDay % 1000, 3);
+        out.put( (byte) 'Z');
+    }
+
+    // the padding field only has a meaning as the last column of a DelimitedRowByteSupplier
+    static TextField notPadding(TextField field) throws IllegalArgumentException {
+        if (field == PADDING) {
+            throw new IllegalArgumentException("The padding field is only supported by DelimitedRowByteSupplier.");
+        }
+        return field;
+    }
+
+    static byte[][] encodeAll(List<String> values) throws IllegalArgumentException {
+        byte[][] encoded = new byte[values.size()][];
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = encode(values.get(i) );
+        }
+        return encoded;
+    }
+
+    // printable ASCII, excluding quotes and backslashes
+    static byte[] encode(@NonNull String value) throws IllegalArgumentException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < ' ' || c > '~' || c == '"' || c == '\\') {
+                throw new IllegalArgumentException("Received a value with an unsupported character: " + value);
+            }
+        }
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,76 @@
+package org.ericghara.channel;
+
+import org.ericghara.write.ByteWriter;
+import org.ericghara.write.bytesupplier.KeyedRandomByteSupplier;
+import org.ericghara.write.bytesupplier.StringByteSupplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SupplierChannelTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readsExactlySizeBytes() throws IOException {
+        var channel = new SupplierChannel(new KeyedRandomByteSupplier(1), 10_000);
+        var buffer = ByteBuffer.allocate(4096);
+        long total = 0;
+        int read;
+        while ( (read = channel.read(buffer.clear() ) ) >= 0) {
+            total += read;
+        }
+        assertEquals(10_000, total);
+        assertEquals(0, channel.remaining() );
+    }
+
+    @Test
+    void contentMatchesWrittenFile() throws IOException {
+        Path path = tempDir.resolve("aFile");
+        new ByteWriter(path).create(100_000, new KeyedRandomByteSupplier(7) );
+        try (InputStream stream = SupplierChannel.newInputStream(new KeyedRandomByteSupplier(7), 100_000) ) {
+            assertArrayEquals(Files.readAllBytes(path), stream.readAllBytes() );
+        }
+    }
+
+    @Test
+    void endsEarlyWhenSupplierExhausted() throws IOException {
+        var out = new ByteArrayOutputStream();
+        long transferred = SupplierChannel.newInputStream(new StringByteSupplier("abc"), 10)
+                                          .transferTo(out);
+        assertEquals(3, transferred);
+        assertEquals("abc", out.toString(US_ASCII) );
+    }
+
+    @Test
+    void singleByteReads() throws IOException {
+        InputStream stream = SupplierChannel.newInputStream(new StringByteSupplier("\u00ffa", ISO_8859_1), 5);
+        assertEquals(0xff, stream.read() );
+        assertEquals('a', stream.read() );
+        assertEquals(-1, stream.read() );
+    }
+
+    @Test
+    void readThrowsWhenClosed() {
+        var channel = new SupplierChannel(new KeyedRandomByteSupplier(1), 10);
+        channel.close();
+        assertThrows(ClosedChannelException.class, () -> channel.read(ByteBuffer.allocate(1) ) );
+    }
+
+    @Test
+    void constructorThrowsWhenNegativeSize() {
+        assertThrows(IllegalArgumentException.class, () -> new SupplierChannel(new KeyedRandomByteSupplier(1), -1) );
+    }
+}
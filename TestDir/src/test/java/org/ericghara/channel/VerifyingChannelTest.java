@@ -0,0 +1,62 @@
+package org.ericghara.channel;
+
+import org.ericghara.write.bytesupplier.KeyedRandomByteSupplier;
+import org.ericghara.write.bytesupplier.StringByteSupplier;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifyingChannelTest {
+
+    ByteBuffer ascii(String s) {
+        return ByteBuffer.wrap(s.getBytes(US_ASCII) );
+    }
+
+    @Test
+    void matchesSupplierChannel() throws IOException {
+        long size = 1_000_000;
+        var source = new SupplierChannel(new KeyedRandomByteSupplier(3), size);
+        var sink = new VerifyingChannel(new KeyedRandomByteSupplier(3), size);
+        var buffer = ByteBuffer.allocate(100_003);
+        while (source.read(buffer.clear() ) >= 0) {
+            sink.write(buffer.flip() );
+        }
+        assertTrue(sink.matches() );
+        assertEquals(size, sink.position() );
+    }
+
+    @Test
+    void mismatchIsFirstDifference() throws IOException {
+        var sink = new VerifyingChannel(new StringByteSupplier("hello"), 5);
+        sink.write(ascii("he") );
+        sink.write(ascii("lp") );
+        assertEquals(3, sink.mismatch() );
+        assertFalse(sink.matches() );
+    }
+
+    @Test
+    void moreBytesThanExpectedIsMismatch() throws IOException {
+        var sink = new VerifyingChannel(new StringByteSupplier("hello"), 5);
+        assertEquals(6, sink.write(ascii("hello!") ) );
+        assertEquals(5, sink.mismatch() );
+    }
+
+    @Test
+    void fewerBytesThanExpectedDoesNotMatch() throws IOException {
+        var sink = new VerifyingChannel(new StringByteSupplier("hello"), 5);
+        sink.write(ascii("hell") );
+        assertEquals(-1, sink.mismatch() );
+        assertFalse(sink.matches() );
+    }
+
+    @Test
+    void exhaustedExpectedSupplierIsMismatch() throws IOException {
+        var sink = new VerifyingChannel(new StringByteSupplier("hel"), 5);
+        sink.write(ascii("hello") );
+        assertEquals(3, sink.mismatch() );
+    }
+}
@@ -3,6 +3,7 @@ package org.ericghara.core;
 import com.google.common.jimfs.Configuration;
 import com.google.common.jimfs.Jimfs;
 import org.ericghara.csv.WriteFromCSV;
+import org.ericghara.write.WriteOptions;
 import org.ericghara.write.bytesupplier.ByteSupplier;
 import org.ericghara.write.bytesupplier.IntStreamByteSupplier;
 import org.junit.jupiter.api.AfterEach;
@@ -65,6 +66,22 @@ class TestDirBuilderTest {
         assertThrows(IllegalStateException.class, () -> builder.setFsType(mockByteFsType).setFsType(mockByteFsType) );
     }
 
+    @Test
+    @DisplayName("setWriteOptions throws IllegalStateException if it has previously been set")
+    void setWriteOptionsThrowsIfAlreadySet() {
+        var options = WriteOptions.defaults();
+        var builder = TestDir.builder();
+        assertThrows(IllegalStateException.class, () -> builder.setWriteOptions(options).setWriteOptions(options) );
+    }
+
+    @Test
+    @DisplayName("setTemplateMode throws IllegalStateException if it has previously been set")
+    void setTemplateModeThrowsIfAlreadySet() {
+        var builder = TestDir.builder();
+        assertThrows(IllegalStateException.class,
+                () -> builder.setTemplateMode(TemplateMode.COPY).setTemplateMode(TemplateMode.COPY) );
+    }
+
     @Nested
     @DisplayName("build() tests")
     class BuildTests {
@@ -1,8 +1,15 @@
 package org.ericghara.core;
 
 import com.google.common.jimfs.Jimfs;
+import org.ericghara.exception.FileCreationException;
+import org.ericghara.write.Durability;
 import org.ericghara.write.RandomByteFrequenciesTest;
+import org.ericghara.write.SparseLayout;
+import org.ericghara.write.SyncGroup;
+import org.ericghara.write.WriteOptions;
 import org.ericghara.write.bytesupplier.IntStreamByteSupplier;
+import org.ericghara.write.bytesupplier.KeyedRandomByteSupplier;
+import org.ericghara.write.bytesupplier.ZeroByteSupplier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,7 +24,9 @@ import java.math.BigDecimal;
 import java.nio.file.FileSystem;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.BooleanSupplier;
 import java.util.stream.IntStream;
 
@@ -124,6 +133,16 @@ class TestDirTest {
         }
     }
 
+    @Test
+    @DisplayName("createFile throws when the file exists")
+    void createFileThrowsWhenFileExists() throws IOException {
+        Files.writeString(tempDir.resolve("aFile"), "existing");
+        assertThrows(FileCreationException.class,
+                () -> testDir.createFile("aFile", BigDecimal.ONE, B) );
+        assertEquals("existing", Files.readString(tempDir.resolve("aFile") ) );
+        assertNull(testDir.getFile("aFile") );
+    }
+
     @Test
     @DisplayName("modifyFile throws when pathString not in TestDir")
     void modifyFileThrowsWhenInvalidPathString() {
@@ -180,4 +199,132 @@ class TestDirTest {
         assertArrayEquals( expected, found);
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("files written with a KeyedRandomByteSupplier are reproducible in any order")
+    void keyedSupplierContentIsReproducible(@TempDir Path otherDir) throws IOException {
+        testDir.setByteSupplier(new KeyedRandomByteSupplier(1L) );
+        Path aFile = testDir.createFile("aDir/aFile", BigDecimal.valueOf(5000), B);
+        testDir.createFile("bFile", BigDecimal.TEN, B);
+        testDir.modifyFile(aFile, BigDecimal.valueOf(1000), BigDecimal.valueOf(6000), B);
+
+        var otherTestDir = new TestDir(otherDir, new KeyedRandomByteSupplier(1L) );
+        Path otherAFile = otherTestDir.createFile("aDir/aFile", BigDecimal.valueOf(6000), B);
+
+        assertEquals(-1L, Files.mismatch(aFile, otherAFile) );
+    }
+
+    @Test
+    void resizeFileWithZeroSupplierExtendsWithZeros() throws IOException {
+        Path aFile = testDir.createFile("aFile", BigDecimal.TEN, B);
+        byte[] before = Files.readAllBytes(aFile);
+        testDir.setByteSupplier(new ZeroByteSupplier() );
+        testDir.resizeFile(aFile, BigDecimal.valueOf(5), MB);
+
+        byte[] after = Files.readAllBytes(aFile);
+        assertEquals(MB.toBytes(BigDecimal.valueOf(5) ), after.length);
+        assertEquals(-1, Arrays.mismatch(before, 0, 10, after, 0, 10) );
+        assertEquals(-1, Arrays.mismatch(new byte[after.length - 10], 0, after.length - 10, after, 10, after.length) );
+    }
+
+    @Test
+    void resizeFileReducesFileSize() throws IOException {
+        Path aFile = testDir.createFile("aFile", BigDecimal.TEN, B);
+        byte[] before = Files.readAllBytes(aFile);
+        testDir.resizeFile(aFile, BigDecimal.valueOf(4), B);
+        assertArrayEquals(Arrays.copyOf(before, 4), Files.readAllBytes(aFile) );
+    }
+
+    @Test
+    void openFileAppliesEditsThroughOneSession() throws IOException {
+        testDir.setByteSupplier(new IntStreamByteSupplier(IntStream.generate( () -> 0x01) ) );
+        Path aFile = testDir.createFile("aFile", BigDecimal.TEN, B);
+        testDir.setByteSupplier(new ZeroByteSupplier() );
+        try (var session = testDir.openFile("aFile") ) {
+            session.modify(2, 3);
+            session.append(5);
+            session.truncate(12);
+        }
+        byte[] expected = {1, 1, 0, 0, 0, 1, 1, 1, 1, 1, 0, 0};
+        assertArrayEquals(expected, Files.readAllBytes(aFile) );
+    }
+
+    @Test
+    void openFileThrowsWhenPathNotInTestDir() {
+        assertThrows(IllegalArgumentException.class, () -> testDir.openFile("aFile") );
+    }
+
+    @Test
+    void syncForcesFilesAndDirsDeferredByWrites() {
+        var group = new SyncGroup();
+        testDir.setWriteOptions(WriteOptions.builder()
+                                            .setDurability(Durability.FULL)
+                                            .setSyncGroup(group)
+                                            .build() );
+        testDir.createFile("aDir/bDir/aFile", BigDecimal.TEN, B);
+        testDir.createFile("aDir/bDir/bFile", BigDecimal.TEN, B);
+        // the files, and the dirs holding them, bDir and aDir
+        assertEquals(5, group.pending() );
+        testDir.sync();
+        assertEquals(0, group.pending() );
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"COPY", "LINK"})
+    void templateModeClonesFilesOfSameSizeAndSupplier(TemplateMode mode) throws IOException {
+        testDir.setByteSupplier(new KeyedRandomByteSupplier(1L) );
+        testDir.setTemplateMode(mode);
+        Path aFile = testDir.createFile("aFile", BigDecimal.valueOf(5000), B);
+        Path bFile = testDir.createFile("aDir/bFile", BigDecimal.valueOf(5000), B);
+        Path cFile = testDir.createFile("cFile", BigDecimal.valueOf(6000), B);
+        assertEquals(-1L, Files.mismatch(aFile, bFile) );
+        assertEquals(6000, Files.size(cFile) );
+        assertEquals(Set.of(aFile, bFile, cFile), testDir.getFiles() );
+        assertEquals(mode == TemplateMode.LINK, Files.isSameFile(aFile, bFile) );
+    }
+
+    @Test
+    void templateModeReplacesModifiedTemplate() throws IOException {
+        testDir.setTemplateMode(TemplateMode.COPY);
+        Path aFile = testDir.createFile("aFile", BigDecimal.valueOf(1000), B);
+        testDir.modifyFile("aFile", BigDecimal.ZERO, BigDecimal.valueOf(1000), B);
+        Path bFile = testDir.createFile("bFile", BigDecimal.valueOf(1000), B); // the new template
+        Path cFile = testDir.createFile("cFile", BigDecimal.valueOf(1000), B);
+        assertNotEquals(-1L, Files.mismatch(aFile, bFile) );
+        assertEquals(-1L, Files.mismatch(bFile, cFile) );
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"COPY", "LINK"})
+    void templateModeReplacesDeletedTemplate(TemplateMode mode) throws IOException {
+        testDir.setTemplateMode(mode);
+        Path aFile = testDir.createFile("aFile", BigDecimal.valueOf(1000), B);
+        Files.delete(aFile);
+        Path bFile = testDir.createFile("bFile", BigDecimal.valueOf(1000), B); // the new template
+        Path cFile = testDir.createFile("cFile", BigDecimal.valueOf(1000), B);
+        assertEquals(1000, Files.size(bFile) );
+        assertEquals(-1L, Files.mismatch(bFile, cFile) );
+        assertEquals(mode == TemplateMode.LINK, Files.isSameFile(bFile, cFile) );
+    }
+
+    @Test
+    void templateModeCopyWritesZeroFiles() throws IOException {
+        testDir.setByteSupplier(new ZeroByteSupplier() );
+        testDir.setTemplateMode(TemplateMode.COPY);
+        Path aFile = testDir.createFile("aFile", BigDecimal.valueOf(1000), B);
+        byte[] ones = new byte[1000];
+        Arrays.fill(ones, (byte) 1);
+        Files.write(aFile, ones);
+        Path bFile = testDir.createFile("bFile", BigDecimal.valueOf(1000), B); // not a copy of aFile
+        assertArrayEquals(new byte[1000], Files.readAllBytes(bFile) );
+    }
+
+    @Test
+    void createSparseFileRecordsFile() throws IOException {
+        var layout = SparseLayout.builder(BigDecimal.ONE, MB)
+                                 .randomIslands(4, 1024, 1L)
+                                 .build();
+        Path aFile = testDir.createFile(Path.of("aDir/aFile"), layout);
+        assertEquals(aFile, testDir.getFile("aDir/aFile") );
+        assertEquals(MB.toBytes(BigDecimal.ONE), Files.size(aFile) );
+    }
+}
@@ -0,0 +1,62 @@
+package org.ericghara.write;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.ericghara.write.BlockSizePolicy.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockSizePolicyTest {
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, 4096})
+    void adaptiveUsesDefaultForSmallRegions(long numBytes) {
+        assertEquals(DEFAULT_BLOCK_SIZE, adaptive().blockSize(tempDir, numBytes) );
+    }
+
+    @Test
+    void adaptiveIsMultipleOfStoreBlockSize() throws IOException {
+        long storeBlockSize = Files.getFileStore(tempDir).getBlockSize();
+        int blockSize = adaptive().blockSize(tempDir, 5000);
+        assertTrue(blockSize >= 5000);
+        assertEquals(0, blockSize % storeBlockSize);
+    }
+
+    @Test
+    void adaptiveIsCapped() {
+        assertEquals(MAX_BLOCK_SIZE, adaptive().blockSize(tempDir, 1L << 40) );
+    }
+
+    @Test
+    void adaptiveIsCappedOnJimfs() throws IOException {
+        try (var fs = Jimfs.newFileSystem(Configuration.unix() ) ) {
+            Path path = fs.getPath("/file");
+            assertEquals(8192, adaptive().blockSize(path, 5000) );
+            assertEquals(MAX_JIMFS_BLOCK_SIZE, adaptive().blockSize(path, 1L << 40) );
+        }
+    }
+
+    @Test
+    void fixedAlwaysReturnsBlockSize() {
+        var policy = fixed(7);
+        assertEquals(7, policy.blockSize(tempDir, 0) );
+        assertEquals(7, policy.blockSize(tempDir, 1L << 40) );
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1})
+    void fixedThrowsWhenNotPositive(int blockSize) {
+        assertThrows(IllegalArgumentException.class, () -> fixed(blockSize) );
+    }
+}
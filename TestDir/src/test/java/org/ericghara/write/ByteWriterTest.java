@@ -1,9 +1,15 @@
 package org.ericghara.write;
 
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import org.ericghara.exception.ByteUnderflowException;
+import org.ericghara.exception.FileCreationException;
 import org.ericghara.exception.FileReadException;
 import org.ericghara.exception.WriteFailureException;
 import org.ericghara.write.bytesupplier.ByteSupplier;
+import org.ericghara.write.bytesupplier.FileChannelByteSupplier;
 import org.ericghara.write.bytesupplier.IntStreamByteSupplier;
+import org.ericghara.write.bytesupplier.KeyedRandomByteSupplier;
 import org.ericghara.write.bytesupplier.RandomByteSupplier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -20,16 +26,24 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
 import java.nio.channels.SeekableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
 import java.util.function.IntFunction;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 
 import static org.ericghara.core.SizeUnit.B;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -53,6 +67,49 @@ class ByteWriterTest {
                 () -> new ByteWriter((Path) null));
     }
 
+    @Test
+    void createThrowsWhenFileExists() throws IOException {
+        Files.writeString(filePath, "existing");
+        var e = assertThrows(FileCreationException.class,
+                () -> writer.create(10, new RandomByteSupplier() ) );
+        assertEquals(FileAlreadyExistsException.class, e.getCause().getClass() );
+        assertEquals("existing", Files.readString(filePath) );
+    }
+
+    @Test
+    void createThrowsWhenParentMissing() {
+        var missingParent = new ByteWriter(tempDir.resolve("aDir").resolve("aFile") );
+        assertThrows(FileCreationException.class,
+                () -> missingParent.create(10, new RandomByteSupplier() ) );
+    }
+
+    @Test
+    void createThrowsBeforeCreatingWhenNumBytesNegative() {
+        assertThrows(IllegalArgumentException.class,
+                () -> writer.create(-1, new RandomByteSupplier() ) );
+        assertFalse(Files.exists(filePath) );
+    }
+
+    @Test
+    void createCopyCopiesSource() throws IOException {
+        writer.create(100_000, new RandomByteSupplier(new SplittableRandom(5) ) );
+        Path copyPath = tempDir.resolve("copyFile");
+        new ByteWriter(copyPath).createCopy(filePath);
+        assertEquals(-1, Files.mismatch(filePath, copyPath) );
+        assertThrows(FileCreationException.class, () -> new ByteWriter(copyPath).createCopy(filePath) );
+        assertThrows(FileCreationException.class,
+                () -> new ByteWriter(tempDir.resolve("other") ).createCopy(tempDir.resolve("missing") ) );
+    }
+
+    @Test
+    void createLinkSharesContent() throws IOException {
+        writer.create(10, new RandomByteSupplier() );
+        Path linkPath = tempDir.resolve("linkFile");
+        new ByteWriter(linkPath).createLink(filePath);
+        assertTrue(Files.isSameFile(filePath, linkPath) );
+        assertThrows(FileCreationException.class, () -> new ByteWriter(linkPath).createLink(filePath) );
+    }
+
     @Test
     void fileSizeReturnsCorrectSize() throws IOException {
         writer.create(1234, new RandomByteSupplier());
@@ -140,13 +197,355 @@ class ByteWriterTest {
         @ParameterizedTest
         @ValueSource(longs = {0, 1, 1234, 4096, 5678})
         void writeCallsGetAsByteMinNumTimes(long expectedBytes) {
-            supplier = mock(RandomByteSupplier.class);
-            lenient().when(supplier.getAsByte())
-                    .thenReturn((byte) 255);
+            supplier = mock(ByteSupplier.class, withSettings().defaultAnswer(CALLS_REAL_METHODS) );
+            lenient().doReturn((byte) 255)
+                    .when(supplier).getAsByte();
             writer.create(expectedBytes, supplier);
             verify(supplier, times((int) expectedBytes)).getAsByte();
         }
 
+        @ParameterizedTest
+        @ValueSource(longs = {0, 1, 7, 1234, 5678})
+        void writeWithFixedBlockSizeWritesExpectedBytes(long expectedBytes) throws IOException {
+            var options = WriteOptions.builder()
+                                      .setBlockSizePolicy(BlockSizePolicy.fixed(7) )
+                                      .build();
+            new ByteWriter(filePath, options).create(expectedBytes, new IntStreamByteSupplier(IntStream.iterate(0, i -> i + 1) ) );
+            byte[] bytes = Files.readAllBytes(filePath);
+            assertEquals(expectedBytes, bytes.length);
+            for (int i = 0; i < bytes.length; i++) {
+                assertEquals( (byte) i, bytes[i]);
+            }
+        }
+
+        @Test
+        void writeThrowsWhenBlockSizeNotPositive() {
+            var options = WriteOptions.builder()
+                                      .setBlockSizePolicy( (path, numBytes) -> 0)
+                                      .build();
+            assertThrows(IllegalStateException.class,
+                    () -> new ByteWriter(filePath, options).create(1, new RandomByteSupplier() ) );
+        }
+
+        @Test
+        void mappedWriteMatchesChannelWrite() throws IOException {
+            long numBytes = WriteMode.MIN_MAPPED_SIZE + 3;
+            writer.create(numBytes, new RandomByteSupplier(new SplittableRandom(1) ) );
+            Path mappedPath = tempDir.resolve("mappedFile");
+            var options = WriteOptions.builder()
+                                      .setWriteMode(WriteMode.MAPPED)
+                                      .build();
+            new ByteWriter(mappedPath, options).create(numBytes, new RandomByteSupplier(new SplittableRandom(1) ) );
+            assertEquals(-1, Files.mismatch(filePath, mappedPath) );
+        }
+
+        @Test
+        void mappedWriteFallsBackWhenUnsupported() throws IOException {
+            try (var fs = Jimfs.newFileSystem(Configuration.unix() ) ) {
+                Path path = fs.getPath("/mappedFile");
+                long numBytes = WriteMode.MIN_MAPPED_SIZE + 3;
+                var options = WriteOptions.builder()
+                                          .setWriteMode(WriteMode.MAPPED)
+                                          .build();
+                new ByteWriter(path, options).create(numBytes, () -> (byte) 7);
+                byte[] bytes = Files.readAllBytes(path);
+                assertEquals(numBytes, bytes.length);
+                assertEquals(7, bytes[(int) numBytes - 1]);
+            }
+        }
+
+        @Test
+        void mappedWriteThrowsWhenSupplierExhausted() {
+            var options = WriteOptions.builder()
+                                      .setWriteMode(WriteMode.MAPPED)
+                                      .build();
+            var supplier = new IntStreamByteSupplier(IntStream.range(0, (int) WriteMode.MIN_MAPPED_SIZE) );
+            assertThrows(WriteFailureException.class,
+                    () -> new ByteWriter(filePath, options).create(WriteMode.MIN_MAPPED_SIZE + 1, supplier) );
+        }
+
+        @ParameterizedTest
+        @ValueSource(longs = {0, 1, 1000, 1001, 5678})
+        void parallelWriteMatchesSequentialWrite(long numBytes) throws IOException {
+            writer.create(numBytes, new KeyedRandomByteSupplier(7) );
+            Path parallelPath = tempDir.resolve("parallelFile");
+            var executor = Executors.newFixedThreadPool(4);
+            try {
+                var options = WriteOptions.builder()
+                                          .setExecutor(executor)
+                                          .setChunkSize(1000)
+                                          .build();
+                new ByteWriter(parallelPath, options).create(numBytes, new KeyedRandomByteSupplier(7) );
+            } finally {
+                executor.shutdown();
+            }
+            assertEquals(-1, Files.mismatch(filePath, parallelPath) );
+        }
+
+        @Test
+        void transferableSupplierIsNotChunked() throws IOException {
+            writer.create(5000, new KeyedRandomByteSupplier(7) );
+            var options = WriteOptions.builder()
+                                      .setExecutor(Runnable::run)
+                                      .setChunkSize(1000)
+                                      .build();
+            var parallelWriter = new ByteWriter(tempDir.resolve("copy"), options);
+            try (var source = new FileChannelByteSupplier(filePath) ) {
+                assertFalse(parallelWriter.isChunked(5000, source) );
+                assertTrue(parallelWriter.isChunked(5000, new KeyedRandomByteSupplier(7) ) );
+                parallelWriter.create(5000, source);
+            }
+            assertEquals(-1, Files.mismatch(filePath, tempDir.resolve("copy") ) );
+        }
+
+        @Test
+        void chunkedWriteRequestsEachChunk() throws IOException {
+            var options = WriteOptions.builder()
+                                      .setChunkSize(10)
+                                      .build();
+            var positions = new ArrayList<Long>();
+            new ByteWriter(filePath, options).create(25, (position, numBytes) -> {
+                positions.add(position);
+                byte b = (byte) numBytes;
+                return () -> b;
+            });
+            assertEquals(List.of(0L, 10L, 20L), positions);
+            byte[] bytes = Files.readAllBytes(filePath);
+            assertEquals(25, bytes.length);
+            assertEquals(10, bytes[19]);
+            assertEquals(5, bytes[24]);
+        }
+
+        @Test
+        void chunkedWriteThroughOtherChannelWritesChunksInOrder() throws IOException {
+            var options = WriteOptions.builder()
+                                      .setChunkSize(10)
+                                      .build();
+            var positions = new ArrayList<Long>();
+            ChunkSupplier chunks = (position, numBytes) -> {
+                positions.add(position);
+                byte b = (byte) numBytes;
+                return () -> b;
+            };
+            try (var fileChannel = Files.newByteChannel(filePath, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.WRITE) ) {
+                var channel = new SeekableByteChannel() { // not a FileChannel
+                    @Override
+                    public int read(ByteBuffer dst) throws IOException {
+                        return fileChannel.read(dst);
+                    }
+
+                    @Override
+                    public int write(ByteBuffer src) throws IOException {
+                        return fileChannel.write(src);
+                    }
+
+                    @Override
+                    public long position() throws IOException {
+                        return fileChannel.position();
+                    }
+
+                    @Override
+                    public SeekableByteChannel position(long newPosition) throws IOException {
+                        fileChannel.position(newPosition);
+                        return this;
+                    }
+
+                    @Override
+                    public long size() throws IOException {
+                        return fileChannel.size();
+                    }
+
+                    @Override
+                    public SeekableByteChannel truncate(long size) throws IOException {
+                        fileChannel.truncate(size);
+                        return this;
+                    }
+
+                    @Override
+                    public boolean isOpen() {
+                        return fileChannel.isOpen();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        fileChannel.close();
+                    }
+                };
+                var chunked = new ByteWriter(filePath, options);
+                chunked.new ChunkedWriteJob(0, 25, chunks, Runnable::run).write(channel);
+            }
+            assertEquals(List.of(0L, 10L, 20L), positions);
+            byte[] bytes = Files.readAllBytes(filePath);
+            assertEquals(25, bytes.length);
+            assertEquals(10, bytes[19]);
+            assertEquals(5, bytes[24]);
+        }
+
+        @Test
+        void chunkedWriteThrowsWhenChunkSupplierExhausted() {
+            var options = WriteOptions.builder()
+                                      .setChunkSize(10)
+                                      .build();
+            assertThrows(WriteFailureException.class,
+                    () -> new ByteWriter(filePath, options).create(25,
+                            (position, numBytes) -> new IntStreamByteSupplier(IntStream.range(0, 5) ) ) );
+        }
+
+        @ParameterizedTest
+        @ValueSource(longs = {0, 1, 4096, 100_000, 1_234_567})
+        void pipelinedWriteMatchesChannelWrite(long numBytes) throws IOException {
+            writer.create(numBytes, new RandomByteSupplier(new SplittableRandom(2) ) );
+            Path pipelinedPath = tempDir.resolve("pipelinedFile");
+            var options = WriteOptions.builder()
+                                      .setWriteMode(WriteMode.PIPELINED)
+                                      .setBlockSizePolicy(BlockSizePolicy.fixed(4096) )
+                                      .build();
+            new ByteWriter(pipelinedPath, options).create(numBytes, new RandomByteSupplier(new SplittableRandom(2) ) );
+            assertEquals(-1, Files.mismatch(filePath, pipelinedPath) );
+        }
+
+        @Test
+        void pipelinedWriteThrowsWhenSupplierExhausted() {
+            var options = WriteOptions.builder()
+                                      .setWriteMode(WriteMode.PIPELINED)
+                                      .setBlockSizePolicy(BlockSizePolicy.fixed(4096) )
+                                      .build();
+            var supplier = new IntStreamByteSupplier(IntStream.range(0, 50_000) );
+            var e = assertThrows(WriteFailureException.class,
+                    () -> new ByteWriter(filePath, options).create(100_000, supplier) );
+            assertEquals(ByteUnderflowException.class, e.getCause().getClass() );
+        }
+
+        // accepts failAfter writes, then throws
+        static SeekableByteChannel failingChannel(int failAfter) {
+            return new SeekableByteChannel() {
+                private int writes = 0;
+                private long position = 0;
+
+                @Override
+                public int write(ByteBuffer src) throws IOException {
+                    if (writes++ == failAfter) {
+                        throw new IOException("write failed");
+                    }
+                    int n = src.remaining();
+                    src.position(src.limit() );
+                    position += n;
+                    return n;
+                }
+
+                @Override
+                public int read(ByteBuffer dst) {
+                    return -1;
+                }
+
+                @Override
+                public long position() {
+                    return position;
+                }
+
+                @Override
+                public SeekableByteChannel position(long newPosition) {
+                    position = newPosition;
+                    return this;
+                }
+
+                @Override
+                public long size() {
+                    return position;
+                }
+
+                @Override
+                public SeekableByteChannel truncate(long size) {
+                    return this;
+                }
+
+                @Override
+                public boolean isOpen() {
+                    return true;
+                }
+
+                @Override
+                public void close() {}
+            };
+        }
+
+        WriteOptions pipelinedOptions(DirectBufferPool pool) {
+            return WriteOptions.builder()
+                               .setWriteMode(WriteMode.PIPELINED)
+                               .setBlockSizePolicy(BlockSizePolicy.fixed(4096) )
+                               .setBufferPool(pool)
+                               .build();
+        }
+
+        @Test
+        void pipelinedWriteReleasesBuffersWhenWriteFails() {
+            var pool = new DirectBufferPool(1 << 20);
+            var pipelined = new ByteWriter(filePath, pipelinedOptions(pool) );
+            var e = assertThrows(WriteFailureException.class,
+                    () -> pipelined.write(failingChannel(2), 0, 100_000, new RandomByteSupplier() ) );
+            assertEquals(IOException.class, e.getCause().getClass() );
+            DirectBufferPool.Stats stats = pool.stats();
+            assertEquals(WriteMode.PIPELINE_DEPTH, stats.misses() );
+            assertEquals(stats.misses() * 4096, stats.bytesHeld() ); // every buffer was released
+        }
+
+        @Test
+        void pipelinedWriteKeepsInterruptStatus() {
+            var pool = new DirectBufferPool(1 << 20);
+            var pipelined = new ByteWriter(filePath, pipelinedOptions(pool) );
+            Thread.currentThread().interrupt();
+            try {
+                var e = assertThrows(WriteFailureException.class,
+                        () -> pipelined.write(failingChannel(Integer.MAX_VALUE), 0, 100_000,
+                                new RandomByteSupplier() ) );
+                assertEquals(InterruptedException.class, e.getCause().getClass() );
+                assertTrue(Thread.currentThread().isInterrupted() );
+            } finally {
+                Thread.interrupted();
+            }
+            DirectBufferPool.Stats stats = pool.stats();
+            assertEquals(stats.misses() * 4096, stats.bytesHeld() );
+        }
+
+        @ParameterizedTest
+        @ValueSource(longs = {0, 1, 4096, 100_000, 1_234_567})
+        void directWriteMatchesChannelWrite(long numBytes) throws IOException {
+            writer.create(numBytes, new RandomByteSupplier(new SplittableRandom(3) ) );
+            writer.modify(numBytes / 3, numBytes / 2, new RandomByteSupplier(new SplittableRandom(4) ) );
+            Path directPath = tempDir.resolve("directFile");
+            var options = WriteOptions.builder()
+                                      .setWriteMode(WriteMode.DIRECT)
+                                      .setBlockSizePolicy(BlockSizePolicy.fixed(65536) )
+                                      .build();
+            var directWriter = new ByteWriter(directPath, options);
+            directWriter.create(numBytes, new RandomByteSupplier(new SplittableRandom(3) ) );
+            directWriter.modify(numBytes / 3, numBytes / 2, new RandomByteSupplier(new SplittableRandom(4) ) );
+            assertEquals(-1, Files.mismatch(filePath, directPath) );
+        }
+
+        @Test
+        void directWriteFallsBackWhenUnsupported() throws IOException {
+            try (var fs = Jimfs.newFileSystem(Configuration.unix() ) ) {
+                Path path = fs.getPath("/directFile");
+                long numBytes = 100_000;
+                var options = WriteOptions.builder()
+                                          .setWriteMode(WriteMode.DIRECT)
+                                          .build();
+                new ByteWriter(path, options).create(numBytes, () -> (byte) 7);
+                byte[] bytes = Files.readAllBytes(path);
+                assertEquals(numBytes, bytes.length);
+                assertEquals(7, bytes[(int) numBytes - 1]);
+            }
+        }
+
+        @Test
+        void writeThrowsWhenSupplierExhausted() {
+            supplier = new IntStreamByteSupplier(IntStream.range(0, 10) );
+            assertThrows(WriteFailureException.class,
+                    () -> writer.create(11, supplier) );
+        }
+
         @ParameterizedTest
         @ValueSource(longs = {0, 1})
         void validStartPosTooLargeThrows(long pos) {
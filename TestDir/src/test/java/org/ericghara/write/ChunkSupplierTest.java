@@ -0,0 +1,45 @@
+package org.ericghara.write;
+
+import org.ericghara.exception.ByteUnderflowException;
+import org.ericghara.write.bytesupplier.KeyedRandomByteSupplier;
+import org.ericghara.write.bytesupplier.PatternByteSupplier;
+import org.ericghara.write.bytesupplier.SeekableByteSupplier;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ChunkSupplierTest {
+
+    @Test
+    void ofSuppliesBytesAtChunkPosition() {
+        var seekable = new KeyedRandomByteSupplier(3);
+        var expected = ByteBuffer.allocate(100);
+        seekable.fill(expected, 1000);
+
+        var chunk = ChunkSupplier.of(seekable).forChunk(1000, 100);
+        var actual = ByteBuffer.allocate(100);
+        actual.put(chunk.getAsByte() );
+        assertEquals(99, chunk.fill(actual) );
+        assertEquals(expected.flip(), actual.flip() );
+        assertEquals(0, seekable.position() );
+    }
+
+    @Test
+    void ofChunksAreIndependent() {
+        var chunks = ChunkSupplier.of(new PatternByteSupplier("abcdef") );
+        var first = chunks.forChunk(0, 3);
+        var second = chunks.forChunk(3, 3);
+        assertEquals('d', second.getAsByte() );
+        assertEquals('a', first.getAsByte() );
+        assertEquals('e', second.getAsByte() );
+    }
+
+    @Test
+    void ofGetAsByteThrowsWhenExhausted() {
+        var chunk = ChunkSupplier.of(mock(SeekableByteSupplier.class) ).forChunk(2, 1);
+        assertThrows(ByteUnderflowException.class, chunk::getAsByte);
+    }
+}
@@ -0,0 +1,115 @@
+package org.ericghara.write;
+
+import org.ericghara.write.bytesupplier.RandomByteSupplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DirectBufferPoolTest {
+
+    @ParameterizedTest
+    @CsvSource({"0, 4096", "1, 4096", "4096, 4096", "4097, 8192", "1000000, 1048576"})
+    void capacityIsRoundedToSizeClass(int minCapacity, int expected) {
+        ByteBuffer buffer = new DirectBufferPool(0).acquire(minCapacity);
+        assertTrue(buffer.isDirect() );
+        assertEquals(expected, buffer.capacity() );
+    }
+
+    @Test
+    void releasedBufferIsReusedByThread() {
+        var pool = new DirectBufferPool(4096);
+        ByteBuffer buffer = pool.acquire(4096);
+        buffer.position(10).order(ByteOrder.LITTLE_ENDIAN);
+        pool.release(buffer);
+
+        ByteBuffer reused = pool.acquire(4000);
+        assertSame(buffer, reused);
+        assertEquals(0, reused.position() );
+        assertEquals(ByteOrder.BIG_ENDIAN, reused.order() );
+        assertEquals(new DirectBufferPool.Stats(1, 1, 0), pool.stats() );
+    }
+
+    @Test
+    void sharedPoolIsBounded() {
+        var pool = new DirectBufferPool(8192);
+        ByteBuffer[] buffers = new ByteBuffer[4];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = pool.acquire(4096);
+        }
+        for (ByteBuffer buffer : buffers) {
+            pool.release(buffer); // first is cached by the thread, second is pooled, last two are dropped
+        }
+        assertEquals(8192, pool.stats().bytesHeld() );
+        for (int i = 0; i < buffers.length; i++) {
+            pool.acquire(4096);
+        }
+        assertEquals(new DirectBufferPool.Stats(2, 6, 0), pool.stats() );
+    }
+
+    @Test
+    void threadCachesCountTowardsMax() throws InterruptedException {
+        var pool = new DirectBufferPool(8192);
+        Runnable cacheOne = () -> pool.release(pool.acquire(4096) );
+        Thread[] threads = new Thread[4];
+        var latch = new CountDownLatch(threads.length);
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread( () -> {
+                cacheOne.run();
+                latch.countDown();
+                try {
+                    latch.await(); // no thread terminates before all have released
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(8192, pool.stats().bytesHeld() );
+    }
+
+    @Test
+    void cachesOfTerminatedThreadsAreReclaimed() throws InterruptedException {
+        var pool = new DirectBufferPool(4096);
+        Thread thread = new Thread( () -> pool.release(pool.acquire(4096) ) );
+        thread.start();
+        thread.join();
+        assertEquals(4096, pool.stats().bytesHeld() );
+
+        ByteBuffer buffer = pool.acquire(4096); // miss, the other thread's buffer is in its cache
+        pool.release(buffer);
+        assertEquals(4096, pool.stats().bytesHeld() );
+        assertSame(buffer, pool.acquire(4096) );
+    }
+
+    @Test
+    void foreignBuffersAreIgnored() {
+        var pool = new DirectBufferPool(1 << 20);
+        pool.release(ByteBuffer.allocate(4096) );
+        pool.release(ByteBuffer.allocateDirect(5000) );
+        assertEquals(0, pool.stats().bytesHeld() );
+        pool.acquire(4096);
+        assertEquals(new DirectBufferPool.Stats(0, 1, 0), pool.stats() );
+    }
+
+    @Test
+    void writerReusesSharedPoolBuffers(@TempDir Path tempDir) {
+        var writer = new ByteWriter(tempDir.resolve("first") );
+        writer.create(100, new RandomByteSupplier() );
+        long misses = DirectBufferPool.shared().stats().misses();
+        for (int i = 0; i < 100; i++) {
+            new ByteWriter(tempDir.resolve("file" + i) ).create(100, new RandomByteSupplier() );
+        }
+        assertEquals(misses, DirectBufferPool.shared().stats().misses() );
+    }
+}
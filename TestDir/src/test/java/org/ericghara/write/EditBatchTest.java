@@ -0,0 +1,74 @@
+package org.ericghara.write;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EditBatchTest {
+
+    @Test
+    void coalesceSortsAndMergesEdits() {
+        var batch = EditBatch.builder()
+                             .edit(50, 10)
+                             .edit(0, 10)
+                             .edit(10, 5) // adjacent
+                             .edit(52, 20) // overlapping
+                             .edit(55, 2) // contained
+                             .edit(100, 0) // ignored
+                             .build();
+        assertEquals(5, batch.edits().size() );
+        var expected = List.of(new ModifiedRegions.Region(0, 15), new ModifiedRegions.Region(50, 22) );
+        assertEquals(expected, batch.coalesce().regions() );
+    }
+
+    @Test
+    void modifiedRegionsContainsOnlyWrittenBytes() {
+        var regions = EditBatch.builder()
+                               .edit(10, 5)
+                               .edit(20, 1)
+                               .build()
+                               .coalesce();
+        assertEquals(6, regions.numBytes() );
+        long[] contained = LongStream.range(0, 30).filter(regions::contains).toArray();
+        assertArrayEquals(new long[] {10, 11, 12, 13, 14, 20}, contained);
+    }
+
+    @Test
+    void emptyBatchHasNoRegions() {
+        var regions = EditBatch.builder().build().coalesce();
+        assertEquals(0, regions.numRegions() );
+        assertFalse(regions.contains(0) );
+    }
+
+    @Test
+    void randomEditsAreReproducibleAndWithinFile() {
+        var batch = EditBatch.builder().randomEdits(1000, 500, 64, 42).build();
+        assertEquals(batch.edits(), EditBatch.builder().randomEdits(1000, 500, 64, 42).build().edits() );
+        for (var edit : batch.edits() ) {
+            assertTrue(edit.numBytes() >= 1 && edit.numBytes() <= 64);
+            assertTrue(edit.offset() + edit.numBytes() <= 500);
+        }
+    }
+
+    @Test
+    void editsDrawsFromSuppliers() {
+        long[] next = {0};
+        var batch = EditBatch.builder()
+                             .edits(3, () -> next[0] += 10, () -> 2)
+                             .build();
+        assertEquals(List.of(new EditBatch.Edit(10, 2), new EditBatch.Edit(20, 2), new EditBatch.Edit(30, 2) ),
+                batch.edits() );
+    }
+
+    @Test
+    void builderThrowsWhenInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> EditBatch.builder().edit(-1, 1) );
+        assertThrows(IllegalArgumentException.class, () -> EditBatch.builder().edit(0, -1) );
+        assertThrows(IllegalArgumentException.class, () -> EditBatch.builder().edit(Long.MAX_VALUE, 1) );
+        assertThrows(IllegalArgumentException.class, () -> EditBatch.builder().randomEdits(1, 0, 1, 1) );
+        assertThrows(IllegalArgumentException.class, () -> EditBatch.builder().randomEdits(-1, 1, 1, 1) );
+    }
+}
@@ -27,14 +27,24 @@ public class RandomByteFrequenciesTest {
     private final long[] observedFreqs;
 
     public RandomByteFrequenciesTest(Path filePath) throws IOException, ArithmeticException {
+        this(filePath, calcExpectedFreqDistribution() );
+    }
+
+    /**
+     * @param filePath file to test
+     * @param expectedFreqDistribution expected frequency of each byte, indexed by the unsigned byte value.
+     *                                 All frequencies must be {@literal >} 0.
+     */
+    public RandomByteFrequenciesTest(Path filePath, double[] expectedFreqDistribution) throws IOException, ArithmeticException {
         this.filePath = filePath;
         size = validateSize(filePath);
         observedFreqs = observedFrequencies();
-        expectedFreqDistribution = calcExpectedFreqDistribution();
+        this.expectedFreqDistribution = expectedFreqDistribution;
     }
 
     /**
-     * Tests if the file does not conform to a random frequency distribution with confidence {@code 1 - alpha}.
+     * Tests if the file does not conform to the expected frequency distribution (uniform unless provided)
+     * with confidence {@code 1 - alpha}.
      * @param alpha significance level of test 0 < alpha < 0.5
      * @return true iff null hypothesis can be rejected with confidence 1 - alpha
      */
@@ -0,0 +1,68 @@
+package org.ericghara.write;
+
+import org.ericghara.write.bytesupplier.KeyedRandomByteSupplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SparseLayoutTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void islandsAreSorted() {
+        var layout = SparseLayout.builder(100)
+                                 .island(50, 10)
+                                 .island(0, 10)
+                                 .build();
+        assertEquals(List.of(new SparseLayout.Island(0, 10), new SparseLayout.Island(50, 10) ), layout.islands() );
+    }
+
+    @Test
+    void randomIslandsAreReproducibleAndWithinSlots() {
+        var layout = SparseLayout.builder(1000).randomIslands(10, 50, 42).build();
+        assertEquals(layout.islands(), SparseLayout.builder(1000).randomIslands(10, 50, 42).build().islands() );
+        for (int i = 0; i < 10; i++) {
+            var island = layout.islands().get(i);
+            assertTrue(island.offset() >= i * 100L && island.offset() + 50 <= (i + 1) * 100L);
+        }
+    }
+
+    @Test
+    void builderThrowsWhenInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> SparseLayout.builder(-1) );
+        assertThrows(IllegalArgumentException.class, () -> SparseLayout.builder(100).island(95, 10) );
+        assertThrows(IllegalArgumentException.class, () -> SparseLayout.builder(100).randomIslands(10, 11, 1) );
+        assertThrows(IllegalArgumentException.class, () -> SparseLayout.builder(100)
+                                                                        .island(0, 10)
+                                                                        .island(5, 10)
+                                                                        .build() );
+    }
+
+    @Test
+    void createWritesOnlyIslands() throws IOException {
+        Path path = tempDir.resolve("aFile");
+        var layout = SparseLayout.builder(1 << 20)
+                                 .island(4096, 100)
+                                 .island(500_000, 100)
+                                 .build();
+        new ByteWriter(path).create(layout, new KeyedRandomByteSupplier(1) );
+
+        assertEquals(1 << 20, Files.size(path) );
+        byte[] found = Files.readAllBytes(path);
+        var expected = ByteBuffer.allocate(1 << 20);
+        for (var island : layout.islands() ) {
+            new KeyedRandomByteSupplier(1).fill(expected.slice( (int) island.offset(), (int) island.numBytes() ),
+                    island.offset() );
+        }
+        assertArrayEquals(expected.array(), found);
+    }
+}
@@ -0,0 +1,30 @@
+package org.ericghara.write;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StoreBlockSizesTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void blockSizeIsFileStoreBlockSize() throws IOException {
+        Path aFile = Files.createFile(tempDir.resolve("aFile") );
+        Path bFile = Files.createFile(tempDir.resolve("bFile") );
+        long expected = Files.getFileStore(aFile).getBlockSize();
+        assertEquals(expected, StoreBlockSizes.of(aFile) );
+        assertEquals(expected, StoreBlockSizes.of(bFile) ); // cached for the directory
+    }
+
+    @Test
+    void blockSizeIsUnknownWhenDirectoryMissing() {
+        assertEquals(0, StoreBlockSizes.of(tempDir.resolve("missing/aFile") ) );
+    }
+}
@@ -0,0 +1,104 @@
+package org.ericghara.write;
+
+import org.ericghara.exception.WriteFailureException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyncGroupTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void fileAddedTwiceIsPendingOnce() throws IOException {
+        var group = new SyncGroup();
+        Path file = Files.createFile(tempDir.resolve("aFile") );
+        group.add(file, Durability.DATA);
+        group.add(file, Durability.FULL);
+        group.add(tempDir.resolve("bFile"), Durability.NONE); // nothing to force
+        group.addDirectory(tempDir);
+        group.addDirectory(tempDir);
+        assertEquals(2, group.pending() );
+    }
+
+    @Test
+    void syncForcesAndClearsPending() throws IOException {
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            var group = new SyncGroup(executor);
+            for (int i = 0; i < 10; i++) {
+                group.add(Files.createFile(tempDir.resolve("file" + i) ), Durability.FULL);
+            }
+            group.addDirectory(tempDir);
+            group.sync();
+            assertEquals(0, group.pending() );
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void syncForcesReadOnlyFile() throws IOException {
+        var group = new SyncGroup();
+        Path file = Files.writeString(tempDir.resolve("aFile"), "fixture");
+        assertTrue(file.toFile().setWritable(false) );
+        try {
+            group.add(file, Durability.FULL);
+            group.sync();
+            assertEquals(0, group.pending() );
+        } finally {
+            file.toFile().setWritable(true);
+        }
+    }
+
+    @Test
+    void syncThrowsAfterForcingRemainingWhenFileMissing() throws IOException {
+        var group = new SyncGroup();
+        group.add(tempDir.resolve("missing"), Durability.DATA);
+        group.add(Files.createFile(tempDir.resolve("aFile") ), Durability.DATA);
+        group.addDirectory(tempDir);
+        assertThrows(WriteFailureException.class, group::sync);
+        assertEquals(0, group.pending() );
+    }
+
+    @Test
+    void writerDefersCreatedFileAndDirectoryToGroup() throws IOException {
+        var group = new SyncGroup();
+        var options = WriteOptions.builder()
+                                  .setDurability(Durability.FULL)
+                                  .setSyncGroup(group)
+                                  .build();
+        new ByteWriter(tempDir.resolve("aFile"), options).create(10, () -> (byte) 1);
+        new ByteWriter(tempDir.resolve("bFile"), options).create(10, () -> (byte) 1);
+        assertEquals(3, group.pending() ); // two files and their directory
+        try (var session = new ByteWriter(tempDir.resolve("aFile"), options).open(() -> (byte) 2) ) {
+            session.modify(0, 5);
+        }
+        assertEquals(3, group.pending() );
+        group.sync();
+        assertEquals(0, group.pending() );
+        assertEquals(2, Files.readAllBytes(tempDir.resolve("aFile") )[0]);
+    }
+
+    @Test
+    void writerWithoutGroupForcesEachFile() throws IOException {
+        for (Durability durability : Durability.values() ) {
+            var options = WriteOptions.builder()
+                                      .setDurability(durability)
+                                      .build();
+            Path path = tempDir.resolve(durability.name() );
+            var writer = new ByteWriter(path, options);
+            writer.create(100, () -> (byte) 1);
+            writer.modify(50, 100, () -> (byte) 2);
+            writer.truncate(120);
+            assertEquals(120, Files.size(path) );
+        }
+    }
+}
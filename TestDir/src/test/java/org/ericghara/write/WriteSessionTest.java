@@ -0,0 +1,102 @@
+package org.ericghara.write;
+
+import org.ericghara.exception.FileReadException;
+import org.ericghara.exception.WriteFailureException;
+import org.ericghara.write.bytesupplier.IntStreamByteSupplier;
+import org.ericghara.write.bytesupplier.RandomByteSupplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteSessionTest {
+
+    @TempDir
+    Path tempDir;
+    Path filePath;
+    ByteWriter writer;
+
+    @BeforeEach
+    void beforeEach() {
+        filePath = tempDir.resolve("testFile");
+        writer = new ByteWriter(filePath);
+        writer.create(10, new IntStreamByteSupplier(IntStream.generate( () -> 0x01) ) );
+    }
+
+    @Test
+    void openThrowsWhenFileMissing() {
+        var missing = new ByteWriter(tempDir.resolve("missing") );
+        assertThrows(WriteFailureException.class, () -> missing.open(new RandomByteSupplier() ) );
+    }
+
+    @Test
+    void sessionAppliesEditsInOrder() throws IOException {
+        try (var session = writer.open(new IntStreamByteSupplier(IntStream.iterate(2, i -> i + 1) ) ) ) {
+            session.modify(1, 2);
+            session.append(3);
+            session.truncate(12);
+            session.modify(0, 1, () -> (byte) 9);
+            assertEquals(12, session.size() );
+        }
+        byte[] expected = {9, 2, 3, 1, 1, 1, 1, 1, 1, 1, 4, 5};
+        assertArrayEquals(expected, Files.readAllBytes(filePath) );
+    }
+
+    @Test
+    void batchWritesMergedRegionsOnce() throws IOException {
+        var edits = EditBatch.builder()
+                             .edit(8, 4) // extends the file
+                             .edit(2, 2)
+                             .edit(3, 2)
+                             .build();
+        ModifiedRegions regions;
+        try (var session = writer.open(new IntStreamByteSupplier(IntStream.iterate(2, i -> i + 1) ) ) ) {
+            regions = session.modify(edits);
+        }
+        byte[] expected = {1, 1, 2, 3, 4, 1, 1, 1, 5, 6, 7, 8};
+        assertArrayEquals(expected, Files.readAllBytes(filePath) );
+        assertEquals(List.of(new ModifiedRegions.Region(2, 3), new ModifiedRegions.Region(8, 4) ), regions.regions() );
+    }
+
+    @Test
+    void batchThrowsBeforeWritingWhenRegionBeyondEnd() throws IOException {
+        var edits = EditBatch.builder()
+                             .edit(0, 2)
+                             .edit(11, 1)
+                             .build();
+        assertThrows(IllegalArgumentException.class, () -> writer.modify(edits, () -> (byte) 0) );
+        assertArrayEquals(new byte[] {1, 1, 1, 1, 1, 1, 1, 1, 1, 1}, Files.readAllBytes(filePath) );
+    }
+
+    @Test
+    void modifyThrowsWhenStartPosBeyondEnd() {
+        try (var session = writer.open(new RandomByteSupplier() ) ) {
+            assertThrows(IllegalArgumentException.class, () -> session.modify(11, 1) );
+            assertThrows(IllegalArgumentException.class, () -> session.modify(-1, 1) );
+        }
+    }
+
+    @Test
+    void truncateThrowsWhenNewSizeNotLess() {
+        try (var session = writer.open(new RandomByteSupplier() ) ) {
+            assertThrows(WriteFailureException.class, () -> session.truncate(10) );
+            assertThrows(IllegalArgumentException.class, () -> session.truncate(-1) );
+        }
+    }
+
+    @Test
+    void sessionThrowsWhenClosed() {
+        var session = writer.open(new RandomByteSupplier() );
+        session.close();
+        session.close();
+        assertThrows(WriteFailureException.class, () -> session.modify(0, 1) );
+        assertThrows(FileReadException.class, session::size);
+    }
+}
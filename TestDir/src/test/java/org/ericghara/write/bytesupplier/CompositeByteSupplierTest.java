@@ -0,0 +1,105 @@
+package org.ericghara.write.bytesupplier;
+
+import org.ericghara.exception.ByteUnderflowException;
+import org.ericghara.write.ByteWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CompositeByteSupplierTest {
+
+    @TempDir
+    Path tempDir;
+
+    String readAll(ByteSupplier supplier, int numBytes) {
+        var buffer = ByteBuffer.allocate(numBytes);
+        supplier.fill(buffer);
+        return new String(buffer.array(), 0, buffer.position(), US_ASCII);
+    }
+
+    @Test
+    @DisplayName("a written file is header + body + footer")
+    void fileIsConcatenation() throws IOException {
+        var supplier = CompositeByteSupplier.builder()
+                                            .append(4, new StringByteSupplier("MAGC") )
+                                            .append(6, new PatternByteSupplier("ab", US_ASCII) )
+                                            .append(new StringByteSupplier("END") )
+                                            .build();
+        Path path = tempDir.resolve("aFile");
+        new ByteWriter(path).create(13, supplier);
+        assertEquals("MAGCabababEND", Files.readString(path, US_ASCII) );
+    }
+
+    @Test
+    void fillReturnsShortCountAfterLastRange() {
+        var supplier = CompositeByteSupplier.builder()
+                                            .append(2, new PatternByteSupplier("a", US_ASCII) )
+                                            .append(3, new PatternByteSupplier("b", US_ASCII) )
+                                            .build();
+        assertEquals("aabbb", readAll(supplier, 10) );
+        assertThrows(ByteUnderflowException.class, supplier::getAsByte);
+    }
+
+    @Test
+    void fillReturnsShortCountWhenChildExhausted() {
+        var supplier = CompositeByteSupplier.builder()
+                                            .append(5, new StringByteSupplier("ab") )
+                                            .append(5, new PatternByteSupplier("c", US_ASCII) )
+                                            .build();
+        assertEquals("ab", readAll(supplier, 10) );
+    }
+
+    @Test
+    void interleaveAlternatesAtStride() {
+        var supplier = CompositeByteSupplier.interleave(2, new PatternByteSupplier("x", US_ASCII),
+                new PatternByteSupplier("yz", US_ASCII) );
+        assertEquals("xxyzx", readAll(supplier, 5) );
+        assertEquals('x', supplier.getAsByte() );
+        assertEquals("yzxxyz", readAll(supplier, 6) );
+    }
+
+    @Test
+    void regionsAreFilledByBackground() {
+        var supplier = CompositeByteSupplier.builder()
+                                            .background(new PatternByteSupplier(".", US_ASCII) )
+                                            .region(3, 2, new PatternByteSupplier("R", US_ASCII) )
+                                            .region(8, 1, new PatternByteSupplier("S", US_ASCII) )
+                                            .buildWithBackground();
+        assertEquals("...RR...S...", readAll(supplier, 12) );
+    }
+
+    @Test
+    @DisplayName("each range is a single bulk fill of the child")
+    void childFillCalledOncePerRange() {
+        ByteSupplier body = spy(new RandomByteSupplier() );
+        var supplier = CompositeByteSupplier.builder()
+                                            .append(4, new StringByteSupplier("MAGC") )
+                                            .append(100_000, body)
+                                            .build();
+        readAll(supplier, 100_004);
+        verify(body, times(1) ).fill(any(ByteBuffer.class) );
+        verify(body, never() ).getAsByte();
+    }
+
+    @Test
+    void builderThrowsOnInvalidRanges() {
+        var supplier = new PatternByteSupplier("a", US_ASCII);
+        assertThrows(IllegalStateException.class, () -> CompositeByteSupplier.builder().region(2, 1, supplier) );
+        assertThrows(IllegalArgumentException.class, () -> CompositeByteSupplier.builder()
+                                                                                 .append(4, supplier)
+                                                                                 .region(2, 1, supplier) );
+        assertThrows(IllegalStateException.class, () -> CompositeByteSupplier.builder()
+                                                                              .append(supplier)
+                                                                              .append(1, supplier) );
+        assertThrows(IllegalArgumentException.class, () -> CompositeByteSupplier.interleave(0, supplier) );
+    }
+}
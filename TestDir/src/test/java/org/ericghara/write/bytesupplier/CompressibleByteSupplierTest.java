@@ -0,0 +1,49 @@
+package org.ericghara.write.bytesupplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CompressibleByteSupplierTest {
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0, .1, .25, .5, .75, 1})
+    void deflatesToTargetRatio(double ratio) {
+        byte[] bytes = new byte[1 << 20];
+        new CompressibleByteSupplier(ratio).fill(ByteBuffer.wrap(bytes) );
+
+        var deflater = new Deflater();
+        deflater.setInput(bytes);
+        deflater.finish();
+        byte[] compressed = new byte[2 * bytes.length];
+        int compressedSize = deflater.deflate(compressed);
+        deflater.end();
+
+        assertEquals(ratio, (double) compressedSize / bytes.length, .02);
+    }
+
+    @Test
+    void getAsByteMatchesSegmentLayout() {
+        var supplier = new CompressibleByteSupplier(0);
+        var buffer = ByteBuffer.allocate(CompressibleByteSupplier.SEGMENT_SIZE + 1);
+        assertEquals(buffer.capacity(), supplier.fill(buffer) );
+        buffer.flip();
+        while (buffer.hasRemaining() ) {
+            assertEquals(0, buffer.get() );
+        }
+        assertEquals(0, supplier.getAsByte() );
+    }
+
+    @Test
+    void constructorThrowsWhenRatioOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new CompressibleByteSupplier(1.01) );
+        assertThrows(IllegalArgumentException.class, () -> new CompressibleByteSupplier(-.01) );
+        assertThrows(IllegalArgumentException.class, () -> new CompressibleByteSupplier(Double.NaN) );
+    }
+}
@@ -0,0 +1,103 @@
+package org.ericghara.write.bytesupplier;
+
+import com.google.common.jimfs.Jimfs;
+import org.ericghara.exception.WriteFailureException;
+import org.ericghara.write.ByteWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileChannelByteSupplierTest {
+
+    static final int SOURCE_SIZE = 10_007;
+
+    @TempDir
+    Path tempDir;
+    Path source;
+    byte[] sourceBytes;
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        source = tempDir.resolve("source");
+        new ByteWriter(source).create(SOURCE_SIZE, new RandomByteSupplier() );
+        sourceBytes = Files.readAllBytes(source);
+    }
+
+    @Test
+    @DisplayName("ByteWriter copies the source exactly")
+    void createCopiesSource() throws IOException {
+        Path copy = tempDir.resolve("copy");
+        try (var supplier = new FileChannelByteSupplier(source) ) {
+            new ByteWriter(copy).create(SOURCE_SIZE, supplier);
+        }
+        assertEquals(-1L, Files.mismatch(source, copy) );
+    }
+
+    @Test
+    @DisplayName("ByteWriter copies the source to another filesystem")
+    void createCopiesSourceToJimfs() throws IOException {
+        Path copy = Jimfs.newFileSystem().getPath("/copy");
+        try (var supplier = new FileChannelByteSupplier(source) ) {
+            new ByteWriter(copy).create(SOURCE_SIZE, supplier);
+        }
+        assertArrayEquals(sourceBytes, Files.readAllBytes(copy) );
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {SOURCE_SIZE + 1, 3 * SOURCE_SIZE + 5})
+    @DisplayName("a cycling source repeats when the target is larger than the source")
+    void cyclingSourceRepeats(int size) throws IOException {
+        Path copy = tempDir.resolve("copy");
+        try (var supplier = new FileChannelByteSupplier(source, true) ) {
+            new ByteWriter(copy).create(size, supplier);
+        }
+        byte[] found = Files.readAllBytes(copy);
+        assertEquals(size, found.length);
+        for (int i = 0; i < size; i++) {
+            assertEquals(sourceBytes[i % SOURCE_SIZE], found[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("create throws when the target is larger than a non-cycling source")
+    void createThrowsWhenSourceExhausted() throws IOException {
+        Path copy = tempDir.resolve("copy");
+        var writer = new ByteWriter(copy);
+        try (var supplier = new FileChannelByteSupplier(source) ) {
+            assertThrows(WriteFailureException.class, () -> writer.create(SOURCE_SIZE + 1, supplier) );
+        }
+    }
+
+    @Test
+    @DisplayName("fill at a position reads the source at that position, wrapping when cycling")
+    void fillAtPosition() throws IOException {
+        var buffer = ByteBuffer.allocate(10);
+        long position = SOURCE_SIZE - 5;
+        try (var supplier = new FileChannelByteSupplier(source, true) ) {
+            assertEquals(10, supplier.fill(buffer, position) );
+        }
+        for (int i = 0; i < 10; i++) {
+            assertEquals(sourceBytes[(int) ( (position + i) % SOURCE_SIZE)], buffer.get(i) );
+        }
+
+        try (var nonCycling = new FileChannelByteSupplier(source) ) {
+            assertEquals(5, nonCycling.fill(buffer.clear(), position) );
+        }
+    }
+
+    @Test
+    void constructorThrowsWhenCyclingEmptySource() throws IOException {
+        Path empty = Files.createFile(tempDir.resolve("empty") );
+        assertThrows(IllegalArgumentException.class, () -> new FileChannelByteSupplier(empty, true) );
+    }
+}
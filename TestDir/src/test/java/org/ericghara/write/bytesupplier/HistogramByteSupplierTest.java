@@ -0,0 +1,89 @@
+package org.ericghara.write.bytesupplier;
+
+import org.ericghara.write.ByteWriter;
+import org.ericghara.write.RandomByteFrequenciesTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistogramByteSupplierTest {
+
+    @TempDir
+    Path tempDir;
+
+    static double[] linearWeights() {
+        double[] weights = new double[256];
+        Arrays.setAll(weights, i -> i + 1);
+        return weights;
+    }
+
+    static double[] normalize(double[] weights) {
+        double sum = Arrays.stream(weights).sum();
+        return Arrays.stream(weights).map(w -> w / sum).toArray();
+    }
+
+    // Note: since this a probabilistic test, it may occasionally fail
+    @ParameterizedTest(name="Histogram byte distribution test (may occasionally fail) - alpha: {0}")
+    @ValueSource(doubles = {.05 })
+    void fileMatchesHistogram(double alpha) {
+        double[] weights = linearWeights();
+        BooleanSupplier doesNotFit = () -> {
+            Path path = tempDir.resolve("file" + System.nanoTime() );
+            new ByteWriter(path).create(2_718_281L, new HistogramByteSupplier(weights) );
+            try {
+                return new RandomByteFrequenciesTest(path, normalize(weights) ).probablyNonRandom(alpha);
+            } catch (IOException e) {
+                fail("IO exception while reading file", e);
+            }
+            return true;
+        };
+        if (doesNotFit.getAsBoolean() && doesNotFit.getAsBoolean() ) {
+            fail("Null hypothesis that file follows the histogram was rejected in 2 subsequent tests at alpha: " + alpha);
+        }
+    }
+
+    @Test
+    @DisplayName("a uniform file does not fit a skewed histogram")
+    void uniformFileDoesNotMatchHistogram() throws IOException {
+        Path path = tempDir.resolve("file");
+        new ByteWriter(path).create(2_718_281L, new RandomByteSupplier() );
+        assertTrue(new RandomByteFrequenciesTest(path, normalize(linearWeights() ) ).probablyNonRandom(.05) );
+    }
+
+    @Test
+    @DisplayName("bytes with zero weight are never supplied")
+    void zeroWeightsNeverSupplied() {
+        double[] weights = new double[256];
+        weights[7] = 1;
+        weights[200] = 3;
+        var supplier = new HistogramByteSupplier(weights);
+        var buffer = ByteBuffer.allocate(10_001);
+        assertEquals(10_001, supplier.fill(buffer) );
+        buffer.flip();
+        while (buffer.hasRemaining() ) {
+            int b = Byte.toUnsignedInt(buffer.get() );
+            assertTrue(b == 7 || b == 200);
+        }
+        int b = Byte.toUnsignedInt(supplier.getAsByte() );
+        assertTrue(b == 7 || b == 200);
+    }
+
+    @Test
+    void constructorThrowsWhenInvalidWeights() {
+        assertThrows(IllegalArgumentException.class, () -> new HistogramByteSupplier(new double[255]) );
+        assertThrows(IllegalArgumentException.class, () -> new HistogramByteSupplier(new double[256]) );
+        double[] negative = linearWeights();
+        negative[0] = -1;
+        assertThrows(IllegalArgumentException.class, () -> new HistogramByteSupplier(negative) );
+    }
+}
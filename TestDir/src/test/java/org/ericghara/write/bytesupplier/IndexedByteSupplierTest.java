@@ -0,0 +1,37 @@
+package org.ericghara.write.bytesupplier;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IndexedByteSupplierTest {
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void fillGeneratesBytesAtPosition(boolean parallel) {
+        var supplier = new IndexedByteSupplier(p -> (int) (p * p), parallel);
+        var buffer = ByteBuffer.allocateDirect(5 * IndexedByteSupplier.SPLIT_SIZE + 3);
+        long position = 5;
+
+        assertEquals(buffer.capacity(), supplier.fill(buffer, position) );
+        assertEquals(buffer.capacity(), buffer.position() );
+        for (int i = 0; i < buffer.capacity(); i++) {
+            long p = position + i;
+            assertEquals( (byte) (p * p), buffer.get(i) );
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void getAsByteMatchesFill(boolean parallel) {
+        var supplier = new IndexedByteSupplier(p -> (int) (p * 7), parallel);
+        var buffer = ByteBuffer.allocate(100);
+        supplier.fill(buffer);
+        for (int i = 0; i < buffer.capacity(); i++) {
+            assertEquals(buffer.get(i), supplier.getAsByte() );
+        }
+    }
+}
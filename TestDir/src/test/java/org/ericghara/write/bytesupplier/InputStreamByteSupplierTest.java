@@ -4,15 +4,32 @@ import org.ericghara.exception.ByteUnderflowException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class InputStreamByteSupplierTest {
@@ -42,4 +59,118 @@ class InputStreamByteSupplierTest {
         }
         assertThrows(IllegalStateException.class, supplier::getAsByte);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("fill reports a short count and closes the stream when exhausted")
+    void fillReturnsShortCountWhenExhausted() throws IOException {
+        var streamSpy = spy(stream);
+        var supplier = new InputStreamByteSupplier(streamSpy);
+        var buffer = ByteBuffer.allocateDirect(expectedBytes.length + 1);
+
+        assertEquals(expectedBytes.length, supplier.fill(buffer) );
+        verify(streamSpy).close();
+        buffer.flip();
+        for (var b : expectedBytes) {
+            assertEquals(b, buffer.get() );
+        }
+    }
+
+    @Test
+    @DisplayName("fill reads a FileInputStream through its channel")
+    void fillReadsFileInputStream(@TempDir Path tempDir) throws IOException {
+        byte[] fileBytes = new byte[100_003];
+        new RandomByteSupplier().fill(ByteBuffer.wrap(fileBytes) );
+        Path path = Files.write(tempDir.resolve("aFile"), fileBytes);
+
+        var supplier = new InputStreamByteSupplier(new FileInputStream(path.toFile() ) );
+        var buffer = ByteBuffer.allocateDirect(fileBytes.length + 1);
+        assertEquals(fileBytes.length, supplier.fill(buffer) );
+        assertEquals(ByteBuffer.wrap(fileBytes), buffer.flip() );
+    }
+
+    @Test
+    @DisplayName("getAsByte and fill may be interleaved with a small buffer")
+    void getAsByteAndFillInterleaved() {
+        var supplier = new InputStreamByteSupplier(stream, 3);
+        var buffer = ByteBuffer.allocate(2);
+        assertEquals(expectedBytes[0], supplier.getAsByte() );
+        assertEquals(2, supplier.fill(buffer) );
+        assertEquals(expectedBytes[1], buffer.get(0) );
+        assertEquals(expectedBytes[2], buffer.get(1) );
+        assertEquals(expectedBytes[3], supplier.getAsByte() );
+        assertThrows(ByteUnderflowException.class, supplier::getAsByte);
+    }
+
+    @Test
+    @DisplayName("fill throws ByteUnderflowException when the stream cannot be read")
+    void fillThrowsWhenErrorReading() throws IOException {
+        var streamMock = mock(InputStream.class);
+        when(streamMock.readNBytes(any(byte[].class), anyInt(), anyInt() ) ).thenThrow(new IOException() );
+        var supplier = new InputStreamByteSupplier(streamMock);
+        assertThrows(ByteUnderflowException.class, () -> supplier.fill(ByteBuffer.allocate(1) ) );
+        verify(streamMock).close();
+    }
+
+    @Test
+    @DisplayName("fill waits for a non-blocking channel on a selector")
+    void fillWaitsForNonBlockingChannel() throws Exception {
+        Pipe pipe = Pipe.open();
+        Pipe.SourceChannel source = pipe.source();
+        source.configureBlocking(false);
+        var supplier = new InputStreamByteSupplier(source);
+        boolean[] registered = {false};
+        var writer = new Thread( () -> {
+            try (var sink = pipe.sink() ) {
+                long deadline = System.nanoTime() + 10_000_000_000L;
+                while (!source.isRegistered() && System.nanoTime() < deadline) {
+                    Thread.sleep(1);
+                }
+                registered[0] = source.isRegistered(); // fill is waiting on a selector
+                sink.write(ByteBuffer.wrap(expectedBytes) );
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        writer.start();
+        var buffer = ByteBuffer.allocate(expectedBytes.length + 1);
+        assertEquals(expectedBytes.length, supplier.fill(buffer) );
+        writer.join();
+        assertTrue(registered[0]);
+        assertEquals(ByteBuffer.wrap(expectedBytes), buffer.flip() );
+    }
+
+    @Test
+    @DisplayName("fill retries a channel returning no bytes once, then pauses between reads")
+    void fillPausesWhenChannelReturnsNoBytes() {
+        List<Long> readTimes = new ArrayList<>();
+        var channel = new ReadableByteChannel() {
+            @Override
+            public int read(ByteBuffer dst) {
+                readTimes.add(System.nanoTime() );
+                if (readTimes.size() <= 4) {
+                    return 0;
+                }
+                if (readTimes.size() == 5) {
+                    dst.put(expectedBytes);
+                    return expectedBytes.length;
+                }
+                return -1;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {}
+        };
+        var supplier = new InputStreamByteSupplier(channel);
+        var buffer = ByteBuffer.allocate(expectedBytes.length + 1);
+        assertEquals(expectedBytes.length, supplier.fill(buffer) );
+        assertEquals(6, readTimes.size() );
+        for (int i = 2; i < 5; i++) {
+            assertTrue(readTimes.get(i) - readTimes.get(i - 1) >= 1_000_000L); // at least 1 ms
+        }
+    }
+}
@@ -3,6 +3,7 @@ package org.ericghara.write.bytesupplier;
 import org.ericghara.exception.ByteUnderflowException;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
 import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -30,4 +31,32 @@ class IntStreamByteSupplierTest {
                                .forEach(i -> supplier.getAsByte() ) );
     }
 
-}
\ No newline at end of file
+    @Test
+    void fillReturnsShortCountWhenEmpty() {
+        var supplier = new IntStreamByteSupplier(IntStream.range(0, 5) );
+        var buffer = ByteBuffer.allocate(6);
+
+        assertEquals(5, supplier.fill(buffer) );
+        IntStream.range(0,5)
+                 .forEach( i ->
+                    assertEquals( (byte) i, buffer.get(i) ));
+    }
+
+    @Test
+    void fillDrainsParallelStreamInOrder() {
+        var stream = IntStream.range(0, 1_000_000)
+                              .map(i -> i * 31)
+                              .parallel();
+        var supplier = new IntStreamByteSupplier(stream);
+        var buffer = ByteBuffer.allocate(4099);
+
+        for (int filled = 0; filled < 1_000_000; filled += buffer.position() ) {
+            int expected = Math.min(buffer.capacity(), 1_000_000 - filled);
+            assertEquals(expected, supplier.fill(buffer.clear() ) );
+            for (int i = 0; i < expected; i++) {
+                assertEquals( (byte) ( (filled + i) * 31), buffer.get(i) );
+            }
+        }
+        assertThrows(ByteUnderflowException.class, supplier::getAsByte);
+    }
+}
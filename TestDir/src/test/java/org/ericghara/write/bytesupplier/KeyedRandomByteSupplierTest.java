@@ -0,0 +1,70 @@
+package org.ericghara.write.bytesupplier;
+
+import com.google.common.jimfs.Jimfs;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.nio.file.FileSystem;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyedRandomByteSupplierTest {
+
+    KeyedRandomByteSupplier supplier = new KeyedRandomByteSupplier(42L);
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, 7, 8, 9, 1234})
+    @DisplayName("fill at a position matches sequential getAsByte")
+    void fillAtPositionMatchesGetAsByte(long position) {
+        var buffer = ByteBuffer.allocate(29);
+        assertEquals(29, supplier.fill(buffer, position) );
+        assertEquals(0, supplier.position() );
+
+        supplier.position(position);
+        for (int i = 0; i < buffer.capacity(); i++) {
+            assertEquals(buffer.get(i), supplier.getAsByte() );
+        }
+        assertEquals(position + buffer.capacity(), supplier.position() );
+    }
+
+    @Test
+    @DisplayName("regions filled out of order match a single sequential fill")
+    void fillOutOfOrderMatchesSequentialFill() {
+        var expected = ByteBuffer.allocate(100);
+        new KeyedRandomByteSupplier(42L).fill(expected);
+
+        var found = ByteBuffer.allocate(100);
+        supplier.fill(found.slice(61, 39), 61);
+        supplier.fill(found.slice(3, 58), 3);
+        supplier.fill(found.slice(0, 3), 0);
+        assertEquals(expected.rewind(), found);
+    }
+
+    @Test
+    @DisplayName("forPath is reproducible on any filesystem and distinct per path")
+    void forPathIsReproducibleAndDistinct() {
+        FileSystem fs = Jimfs.newFileSystem();
+        Path aFile = fs.getPath("aDir", "aFile");
+        Path bFile = fs.getPath("aDir", "bFile");
+        Path aFileOtherFs = Jimfs.newFileSystem().getPath("aDir/aFile");
+
+        var a = ByteBuffer.allocate(64);
+        var b = ByteBuffer.allocate(64);
+        var aOther = ByteBuffer.allocate(64);
+        supplier.forPath(aFile).fill(a);
+        supplier.forPath(bFile).fill(b);
+        new KeyedRandomByteSupplier(42L).forPath(aFileOtherFs).fill(aOther);
+
+        assertEquals(a.rewind(), aOther.rewind() );
+        assertNotEquals(a.rewind(), b.rewind() );
+    }
+
+    @Test
+    void positionThrowsWhenNegative() {
+        assertThrows(IllegalArgumentException.class, () -> supplier.position(-1) );
+    }
+}
@@ -0,0 +1,51 @@
+package org.ericghara.write.bytesupplier;
+
+import org.ericghara.exception.ByteUnderflowException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LongStreamByteSupplierTest {
+
+    LongStream stream = LongStream.of(0x0102030405060708L, 0x1112131415161718L);
+
+    @Test
+    void fillPacksElementsBigEndian() {
+        var supplier = new LongStreamByteSupplier(stream);
+        var buffer = ByteBuffer.allocate(5);
+
+        assertEquals(5, supplier.fill(buffer) );
+        assertArrayEquals(new byte[] {1, 2, 3, 4, 5}, buffer.array() );
+        assertEquals(6, supplier.getAsByte() );
+        assertEquals(5, supplier.fill(buffer.clear() ) );
+        assertArrayEquals(new byte[] {7, 8, 0x11, 0x12, 0x13}, buffer.array() );
+        assertEquals(5, supplier.fill(buffer.clear() ) );
+        assertEquals(0, supplier.fill(buffer.clear() ) );
+    }
+
+    @Test
+    void fillPacksElementsInByteOrder() {
+        var supplier = new LongStreamByteSupplier(stream, ByteOrder.LITTLE_ENDIAN);
+        var buffer = ByteBuffer.allocate(17);
+
+        assertEquals(16, supplier.fill(buffer) );
+        assertEquals(ByteOrder.BIG_ENDIAN, buffer.order() );
+        assertEquals(0x08, buffer.get(0) );
+        assertEquals(0x11, buffer.get(15) );
+    }
+
+    @Test
+    void getAsByteThrowsWhenEmpty() {
+        var supplier = new LongStreamByteSupplier(LongStream.of(-1L) );
+        for (int i = 0; i < Long.BYTES; i++) {
+            assertEquals(-1, supplier.getAsByte() );
+        }
+        assertThrows(ByteUnderflowException.class, supplier::getAsByte);
+    }
+}
@@ -0,0 +1,77 @@
+package org.ericghara.write.bytesupplier;
+
+import org.ericghara.exception.FileReadException;
+import org.ericghara.write.ByteWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatternByteSupplierTest {
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 4096, PatternByteSupplier.BLOCK_SIZE + 1})
+    @DisplayName("a written file repeats the pattern")
+    void fileRepeatsPattern(int patternLength) throws IOException {
+        byte[] pattern = new byte[patternLength];
+        new RandomByteSupplier().fill(ByteBuffer.wrap(pattern) );
+        Path path = tempDir.resolve("aFile");
+        int size = 3 * PatternByteSupplier.BLOCK_SIZE + 7;
+
+        new ByteWriter(path).create(size, new PatternByteSupplier(pattern) );
+
+        byte[] found = Files.readAllBytes(path);
+        assertEquals(size, found.length);
+        for (int i = 0; i < size; i++) {
+            assertEquals(pattern[i % patternLength], found[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("modify writes the pattern aligned to the file offset")
+    void modifyIsAlignedToFileOffset() throws IOException {
+        Path path = tempDir.resolve("aFile");
+        var writer = new ByteWriter(path);
+        writer.create(12, new PatternByteSupplier("abc", StandardCharsets.US_ASCII) );
+        writer.modify(5, 4, new PatternByteSupplier("XYZ", StandardCharsets.US_ASCII) );
+        assertEquals("abcabZXYZabc", Files.readString(path, StandardCharsets.US_ASCII) );
+    }
+
+    @Test
+    void getAsByteMatchesFill() {
+        var supplier = new PatternByteSupplier("abcd", StandardCharsets.US_ASCII);
+        var buffer = ByteBuffer.allocate(10);
+        supplier.fill(buffer, 2);
+        supplier.position(2);
+        for (int i = 0; i < buffer.capacity(); i++) {
+            assertEquals(buffer.get(i), supplier.getAsByte() );
+        }
+    }
+
+    @Test
+    void readsPatternFile() throws IOException {
+        Path patternFile = Files.writeString(tempDir.resolve("pattern"), "xy", StandardCharsets.US_ASCII);
+        var supplier = new PatternByteSupplier(patternFile);
+        assertEquals('x', supplier.getAsByte() );
+        assertEquals('y', supplier.getAsByte() );
+        assertEquals('x', supplier.getAsByte() );
+    }
+
+    @Test
+    void constructorThrowsWhenInvalidPattern() {
+        assertThrows(IllegalArgumentException.class, () -> new PatternByteSupplier(new byte[0]) );
+        assertThrows(FileReadException.class, () -> new PatternByteSupplier(tempDir.resolve("missing") ) );
+    }
+}
@@ -0,0 +1,42 @@
+package org.ericghara.write.bytesupplier;
+
+import com.google.common.jimfs.Jimfs;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.file.FileSystem;
+
+import static org.ericghara.write.bytesupplier.PooledRandomByteSupplier.POOL_SIZE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class PooledRandomByteSupplierTest {
+
+    @Test
+    @DisplayName("fill wraps around the end of the pool")
+    void fillWrapsAroundPool() {
+        var supplier = new PooledRandomByteSupplier(POOL_SIZE - 5);
+        var buffer = ByteBuffer.allocate(20);
+        assertEquals(20, supplier.fill(buffer, 0) );
+
+        for (int i = 0; i < buffer.capacity(); i++) {
+            assertEquals(buffer.get(i), supplier.getAsByte() );
+        }
+        var wrapped = ByteBuffer.allocate(15);
+        new PooledRandomByteSupplier(0).fill(wrapped);
+        assertEquals(wrapped.flip(), buffer.position(5) );
+    }
+
+    @Test
+    @DisplayName("forPath gives distinct content per path")
+    void forPathIsDistinct() {
+        FileSystem fs = Jimfs.newFileSystem();
+        var supplier = new PooledRandomByteSupplier(0);
+        var a = ByteBuffer.allocate(64);
+        var b = ByteBuffer.allocate(64);
+        supplier.forPath(fs.getPath("aFile") ).fill(a);
+        supplier.forPath(fs.getPath("bFile") ).fill(b);
+        assertNotEquals(a.flip(), b.flip() );
+    }
+}
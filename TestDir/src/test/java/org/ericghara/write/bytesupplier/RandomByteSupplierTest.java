@@ -5,6 +5,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.SplittableRandom;
 import java.util.stream.IntStream;
 
@@ -40,4 +42,38 @@ class RandomByteSupplierTest {
         verify(random, times(3) )
                 .nextLong();
     }
-}
\ No newline at end of file
+
+    @Test
+    void fillWritesSameBytesAsGetAsByte() {
+        long l = 0x0706050403020100L;
+        when(random.nextLong())
+                .thenReturn(l);
+        var supplier = new RandomByteSupplier(random);
+        supplier.getAsByte();
+        var buffer = ByteBuffer.allocate(17);
+        assertEquals(17, supplier.fill(buffer) );
+        for (int i = 0; i < buffer.capacity(); i++) {
+            assertEquals( (i + 1) % 8, buffer.get(i) );
+        }
+    }
+
+    @Test
+    void fillCallEfficiencyNextLong() {
+        when(random.nextLong())
+                .thenReturn(-1L);
+        var supplier = new RandomByteSupplier(random);
+        supplier.fill(ByteBuffer.allocateDirect(17) );
+        verify(random, times(3) )
+                .nextLong();
+    }
+
+    @Test
+    void fillRestoresByteOrder() {
+        when(random.nextLong())
+                .thenReturn(-1L);
+        var buffer = ByteBuffer.allocate(16)
+                               .order(ByteOrder.BIG_ENDIAN);
+        new RandomByteSupplier(random).fill(buffer);
+        assertEquals(ByteOrder.BIG_ENDIAN, buffer.order() );
+    }
+}
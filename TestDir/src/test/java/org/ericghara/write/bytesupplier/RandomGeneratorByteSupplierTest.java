@@ -0,0 +1,109 @@
+package org.ericghara.write.bytesupplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RandomGeneratorByteSupplierTest {
+
+    byte[] next(ByteSupplier supplier, int numBytes) {
+        var buffer = ByteBuffer.allocate(numBytes);
+        supplier.fill(buffer);
+        return buffer.array();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"L64X128MixRandom", "Xoshiro256PlusPlus"})
+    void streamsAreReproducible(String algorithm) {
+        var first = RandomGeneratorByteSupplier.streams(algorithm, 42, 4);
+        var second = RandomGeneratorByteSupplier.streams(algorithm, 42, 4);
+        for (int i = 0; i < 4; i++) {
+            assertArrayEquals(next(first.get(i), 1000), next(second.get(i), 1000) );
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"L64X128MixRandom", "Xoshiro256PlusPlus"})
+    void streamsAreDistinct(String algorithm) {
+        var streams = RandomGeneratorByteSupplier.streams(algorithm, 42, 4);
+        var seen = new HashSet<String>();
+        for (var stream : streams) {
+            assertTrue(seen.add(Arrays.toString(next(stream, 64) ) ) );
+        }
+    }
+
+    @Test
+    void getAsByteMatchesFill() {
+        byte[] expected = next(new RandomGeneratorByteSupplier(7), 13);
+        var supplier = new RandomGeneratorByteSupplier(7);
+        for (byte b : expected) {
+            assertEquals(b, supplier.getAsByte() );
+        }
+    }
+
+    @Test
+    void splitIsIndependentOfParent() {
+        var parent = new RandomGeneratorByteSupplier(7);
+        var child = parent.split();
+        assertFalse(Arrays.equals(next(parent, 64), next(child, 64) ) );
+    }
+
+    @Test
+    void perThreadGivesEachThreadItsOwnStream() throws Exception {
+        int numThreads = 4;
+        ByteSupplier supplier = RandomGeneratorByteSupplier.perThread("L64X128MixRandom", 42);
+        var root = new RandomGeneratorByteSupplier("L64X128MixRandom", 42);
+        List<RandomGeneratorByteSupplier> expected = IntStream.range(0, numThreads)
+                                                              .mapToObj(i -> root.split() )
+                                                              .toList();
+        record Use(Thread thread, byte[] first, byte[] second) {}
+        var running = new CountDownLatch(numThreads); // holds each task until all run, on distinct threads
+        List<CountDownLatch> turns = IntStream.rangeClosed(0, numThreads) // task i is the i-th to first use
+                                              .mapToObj(i -> new CountDownLatch(i == 0 ? 0 : 1) )
+                                              .toList();
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        try {
+            List<Future<Use>> futures = IntStream.range(0, numThreads)
+                                                 .mapToObj(i -> executor.submit( () -> {
+                                                     running.countDown();
+                                                     assertTrue(running.await(10, TimeUnit.SECONDS) );
+                                                     assertTrue(turns.get(i).await(10, TimeUnit.SECONDS) );
+                                                     byte[] first = next(supplier, 64);
+                                                     turns.get(i + 1).countDown();
+                                                     assertTrue(turns.get(numThreads).await(10, TimeUnit.SECONDS) );
+                                                     return new Use(Thread.currentThread(), first,
+                                                             next(supplier, 64) );
+                                                 }) )
+                                                 .toList();
+            var threads = new HashSet<Thread>();
+            for (int i = 0; i < numThreads; i++) {
+                Use use = futures.get(i).get();
+                assertTrue(threads.add(use.thread() ) );
+                assertArrayEquals(next(expected.get(i), 64), use.first() );
+                assertArrayEquals(next(expected.get(i), 64), use.second() );
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void throwsWhenAlgorithmCannotBeDivided() {
+        assertThrows(IllegalArgumentException.class, () -> RandomGeneratorByteSupplier.streams("Random", 1, 2) );
+        assertThrows(IllegalArgumentException.class, () -> RandomGeneratorByteSupplier.perThread("Random", 1) );
+        assertThrows(IllegalArgumentException.class, () -> new RandomGeneratorByteSupplier("NotAnAlgorithm", 1) );
+    }
+}
@@ -0,0 +1,104 @@
+package org.ericghara.write.bytesupplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpliteratorDrainTest {
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void mapPipelineIsDrainedInOrder(boolean parallel) {
+        IntStream stream = IntStream.range(0, 1_000_000)
+                                    .map(i -> i * 31);
+        SpliteratorDrain<IntConsumer, Spliterator.OfInt> drain =
+                new SpliteratorDrain<>( (parallel ? stream.parallel() : stream).spliterator() );
+        var buffer = ByteBuffer.allocate(4099);
+        IntConsumer sink = i -> buffer.put( (byte) i);
+        for (int filled = 0; filled < 1_000_000; filled += buffer.position() ) {
+            int expected = Math.min(buffer.capacity(), 1_000_000 - filled);
+            assertEquals(expected, drain.drain(sink, buffer.clear().remaining() ) );
+            for (int i = 0; i < expected; i++) {
+                assertEquals( (byte) ( (filled + i) * 31), buffer.get(i) );
+            }
+        }
+        assertEquals(0, drain.drain(sink, 1) );
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 300, 4096, 10_000})
+    void statefulPipelineKeepsStateAcrossBatches(int max) {
+        SpliteratorDrain<LongConsumer, Spliterator.OfLong> drain =
+                new SpliteratorDrain<>(LongStream.iterate(0, l -> l + 1)
+                                                 .flatMap(l -> LongStream.of(l, l) )
+                                                 .skip(2)
+                                                 .limit(100_001)
+                                                 .spliterator() );
+        long[] next = {2}; // elements are 1, 1, 2, 2, ...
+        long count = 0;
+        for (long n; (n = drain.drain(l -> assertEquals(next[0]++ / 2, l), max) ) > 0; ) {
+            count += n;
+        }
+        assertEquals(100_001, count);
+    }
+
+    @Test
+    void pipelineRunsOnCallingThread() {
+        Set<Thread> threads = new HashSet<>();
+        SpliteratorDrain<IntConsumer, Spliterator.OfInt> drain =
+                new SpliteratorDrain<>(IntStream.generate( () -> 3)
+                                                .map(i -> {
+                                                    threads.add(Thread.currentThread() );
+                                                    return i + 1;
+                                                })
+                                                .spliterator() );
+        assertEquals(10_000, drain.drain(i -> assertEquals(4, i), 10_000) );
+        assertEquals(Set.of(Thread.currentThread() ), threads);
+    }
+
+    @Test
+    void sourceIsNotReadAhead() {
+        int[] read = {0};
+        SpliteratorDrain<IntConsumer, Spliterator.OfInt> unsized =
+                new SpliteratorDrain<>(IntStream.generate( () -> read[0]++)
+                                                .spliterator() );
+        assertEquals(5000, unsized.drain(i -> {}, 5000) );
+        assertEquals(5000, read[0]);
+
+        int[] peeked = {0};
+        SpliteratorDrain<IntConsumer, Spliterator.OfInt> sized =
+                new SpliteratorDrain<>(IntStream.range(0, 100_000)
+                                                .peek(i -> peeked[0]++)
+                                                .spliterator() );
+        assertEquals(5000, sized.drain(i -> {}, 5000) );
+        assertEquals(5000, peeked[0]);
+    }
+
+    @Test
+    void exceptionOfStreamIsThrownAfterPrecedingElements() {
+        SpliteratorDrain<IntConsumer, Spliterator.OfInt> drain =
+                new SpliteratorDrain<>(IntStream.iterate(0, i -> i + 1)
+                                                .map(i -> {
+                                                    if (i == 5000) {
+                                                        throw new ArithmeticException();
+                                                    }
+                                                    return i;
+                                                })
+                                                .spliterator() );
+        int[] next = {0};
+        assertEquals(4000, drain.drain(i -> assertEquals(next[0]++, i), 4000) );
+        assertThrows(ArithmeticException.class, () -> drain.drain(i -> assertEquals(next[0]++, i), 4000) );
+        assertEquals(5000, next[0]);
+    }
+}
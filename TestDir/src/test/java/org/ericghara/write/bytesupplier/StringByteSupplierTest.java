@@ -4,7 +4,9 @@ import org.ericghara.exception.ByteUnderflowException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 import static org.ericghara.core.SizeUnit.KB;
 import static org.junit.jupiter.api.Assertions.*;
@@ -43,4 +45,13 @@ class StringByteSupplierTest {
             assertEquals(b, supplier.getAsByte() );
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("fill reports a short count when the string is exhausted")
+    void fillReturnsShortCountWhenExhausted() {
+        var buffer = ByteBuffer.allocate(expectedBytes.length + 1);
+        assertEquals(expectedBytes.length, supplier.fill(buffer) );
+        assertEquals(0, supplier.remaining() );
+        assertArrayEquals(expectedBytes, Arrays.copyOf(buffer.array(), expectedBytes.length) );
+    }
+}
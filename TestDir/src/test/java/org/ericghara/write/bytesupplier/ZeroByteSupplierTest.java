@@ -0,0 +1,44 @@
+package org.ericghara.write.bytesupplier;
+
+import org.ericghara.write.ByteWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZeroByteSupplierTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void fillsZeros() {
+        var buffer = ByteBuffer.allocate(10_000);
+        new RandomByteSupplier().fill(buffer);
+        buffer.clear();
+        assertEquals(10_000, new ZeroByteSupplier().fill(buffer) );
+        assertArrayEquals(new byte[10_000], buffer.array() );
+    }
+
+    @Test
+    void createWritesZeroFile() throws IOException {
+        Path path = tempDir.resolve("aFile");
+        new ByteWriter(path).create(1_000_000, new ZeroByteSupplier() );
+        assertArrayEquals(new byte[1_000_000], Files.readAllBytes(path) );
+    }
+
+    @Test
+    void modifyOverwritesAndExtends() throws IOException {
+        Path path = tempDir.resolve("aFile");
+        var writer = new ByteWriter(path);
+        writer.create(6, new StringByteSupplier("abcdef", US_ASCII) );
+        writer.modify(2, 6, new ZeroByteSupplier() );
+        assertArrayEquals(new byte[] {'a', 'b', 0, 0, 0, 0, 0, 0}, Files.readAllBytes(path) );
+    }
+}
@@ -0,0 +1,152 @@
+package org.ericghara.write.bytesupplier.text;
+
+import org.ericghara.write.ByteWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DelimitedRowByteSupplierTest {
+
+    @TempDir
+    Path tempDir;
+
+    Map<String, TextField> schema() {
+        return schema(true);
+    }
+
+    Map<String, TextField> schema(boolean padding) {
+        var schema = new LinkedHashMap<String, TextField>();
+        schema.put("id", TextFields.sequence(1) );
+        schema.put("price", TextFields.gaussian(100, 15, 2) );
+        schema.put("region", TextFields.choice("north", "south") );
+        if (padding) {
+            schema.put("padding", TextFields.padding() );
+        }
+        return schema;
+    }
+
+    static final String HEADER = "\"id\",\"price\",\"region\",\"padding\"";
+    static final String UNPADDED_HEADER = "\"id\",\"price\",\"region\"";
+
+    void assertRowsMatchSchema(String region, boolean header) {
+        assertRowsMatchSchema(region, header, true);
+    }
+
+    // asserts each row of a region is the header, a row of the schema with consecutive ids or, last, a filler
+    void assertRowsMatchSchema(String region, boolean header, boolean padding) {
+        assertTrue(region.endsWith("\n") );
+        String[] lines = region.split("\n", -1);
+        long id = -1;
+        for (int i = 0; i < lines.length - 1; i++) {
+            String line = lines[i];
+            if (header && i == 0 && line.equals(padding ? HEADER : UNPADDED_HEADER) ) {
+                continue;
+            }
+            String[] columns = line.split(",", -1);
+            if (columns.length == 1 || columns[0].isEmpty() ) {
+                assertEquals(lines.length - 2, i, "Only the last row may be a filler: " + line);
+                assertTrue(line.matches(padding ? ",,, *| *" : ",, *| *"), line);
+                continue;
+            }
+            assertEquals(padding ? 4 : 3, columns.length, line);
+            long found = Long.parseLong(columns[0]);
+            assertTrue(id < 0 || found == id + 1, line);
+            id = found;
+            assertTrue(columns[1].matches("-?\\d+\\.\\d\\d"), line);
+            assertTrue(Set.of("\"north\"", "\"south\"").contains(columns[2]), line);
+            if (padding) {
+                assertTrue(columns[3].isBlank(), line);
+            }
+        }
+    }
+
+    @Test
+    void fileHasHeaderAndValidRows() throws IOException {
+        Path path = tempDir.resolve("aFile.csv");
+        new ByteWriter(path).create(10_000, new DelimitedRowByteSupplier(schema(), new SplittableRandom(42) ) );
+
+        List<String> lines = Files.readAllLines(path, US_ASCII);
+        assertEquals(10_000, Files.size(path) );
+        assertEquals(HEADER, lines.get(0) );
+        assertRowsMatchSchema(Files.readString(path, US_ASCII), true);
+        assertTrue(lines.get(lines.size() - 1).matches("\\d+,.*,\"(north|south)\", *"), "Last row is padded");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 4, 20, 32, 33, 40, 50, 77, 200, 1_000})
+    void everyPaddedRowMatchesSchema(int size) throws IOException {
+        Path path = tempDir.resolve("aFile.csv");
+        var writer = new ByteWriter(path);
+        var supplier = new DelimitedRowByteSupplier(schema(), new SplittableRandom(size) );
+        writer.create(size, supplier);
+        writer.modify(size, 300, supplier); // a second region, without a header
+
+        String found = Files.readString(path, US_ASCII);
+        assertEquals(size + 300, found.length() );
+        assertRowsMatchSchema(found.substring(0, size), true);
+        assertRowsMatchSchema(found.substring(size), false);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 4, 17, 20, 21, 30, 32, 33, 40, 50, 77, 200, 1_000})
+    void everyUnpaddedRowMatchesSchema(int size) throws IOException {
+        Path path = tempDir.resolve("aFile.csv");
+        var writer = new ByteWriter(path);
+        var supplier = new DelimitedRowByteSupplier(schema(false), new SplittableRandom(size) );
+        writer.create(size, supplier);
+        writer.modify(size, 300, supplier); // a second region, without a header
+
+        String found = Files.readString(path, US_ASCII);
+        assertEquals(size + 300, found.length() );
+        assertRowsMatchSchema(found.substring(0, size), true, false);
+        assertRowsMatchSchema(found.substring(size), false, false);
+    }
+
+    @Test
+    void fileWithoutPaddingColumnEndsWithFiller() throws IOException {
+        Path path = tempDir.resolve("aFile.csv");
+        new ByteWriter(path).create(10_000, new DelimitedRowByteSupplier(schema(false), new SplittableRandom(42) ) );
+
+        List<String> lines = Files.readAllLines(path, US_ASCII);
+        assertEquals(10_000, Files.size(path) );
+        assertEquals(UNPADDED_HEADER, lines.get(0) );
+        assertRowsMatchSchema(Files.readString(path, US_ASCII), true, false);
+        assertTrue(lines.get(lines.size() - 2).matches("\\d+,-?\\d+\\.\\d\\d,\"(north|south)\""), "Not padded");
+        assertTrue(lines.get(lines.size() - 1).matches(",, *"), "Filler row");
+    }
+
+    @Test
+    void delimiterAndNoHeader() throws IOException {
+        Path path = tempDir.resolve("aFile.tsv");
+        new ByteWriter(path).create(1_000,
+                new DelimitedRowByteSupplier(schema(), '\t', false, new SplittableRandom(42) ) );
+        assertTrue(Files.readString(path, US_ASCII).startsWith("1\t") );
+    }
+
+    @Test
+    void constructorThrowsWhenInvalid() {
+        var random = new SplittableRandom();
+        assertThrows(IllegalArgumentException.class, () -> new DelimitedRowByteSupplier(Map.of(), random) );
+        assertThrows(IllegalArgumentException.class,
+                () -> new DelimitedRowByteSupplier(schema(), '"', true, random) );
+        assertThrows(IllegalArgumentException.class,
+                () -> new DelimitedRowByteSupplier(schema(), ' ', true, random) );
+        var paddingFirst = new LinkedHashMap<String, TextField>();
+        paddingFirst.put("padding", TextFields.padding() );
+        paddingFirst.put("id", TextFields.sequence(1) );
+        assertThrows(IllegalArgumentException.class, () -> new DelimitedRowByteSupplier(paddingFirst, random) );
+    }
+}
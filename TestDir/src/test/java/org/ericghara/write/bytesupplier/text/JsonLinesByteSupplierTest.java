@@ -0,0 +1,46 @@
+package org.ericghara.write.bytesupplier.text;
+
+import org.ericghara.write.ByteWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonLinesByteSupplierTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void everyLineIsAnObject() throws IOException {
+        var schema = new LinkedHashMap<String, TextField>();
+        schema.put("id", TextFields.sequence(1) );
+        schema.put("level", TextFields.choice("INFO", "WARN") );
+        schema.put("latency", TextFields.doubles(r -> r.nextExponential() * 20, 1) );
+        Path path = tempDir.resolve("aFile.ndjson");
+        new ByteWriter(path).create(5_000, new JsonLinesByteSupplier(schema, new SplittableRandom(42) ) );
+
+        List<String> lines = Files.readAllLines(path, US_ASCII);
+        assertEquals(5_000, Files.size(path) );
+        for (int i = 0; i < lines.size(); i++) {
+            String regex = "\\{\"id\":" + (i + 1) + ",\"level\":\"(INFO|WARN)\",\"latency\":\\d+\\.\\d} *";
+            assertTrue(lines.get(i).matches(regex), lines.get(i) );
+        }
+    }
+
+    @Test
+    void constructorThrowsWhenSchemaHasPadding() {
+        var schema = new LinkedHashMap<String, TextField>();
+        schema.put("id", TextFields.sequence(1) );
+        schema.put("padding", TextFields.padding() );
+        assertThrows(IllegalArgumentException.class, () -> new JsonLinesByteSupplier(schema, new SplittableRandom() ) );
+    }
+}
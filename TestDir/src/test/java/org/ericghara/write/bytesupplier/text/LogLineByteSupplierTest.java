@@ -0,0 +1,53 @@
+package org.ericghara.write.bytesupplier.text;
+
+import org.ericghara.write.ByteWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogLineByteSupplierTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void linesAreTimestampedInOrder() throws IOException {
+        Path path = tempDir.resolve("aFile.log");
+        new ByteWriter(path).create(20_000, new LogLineByteSupplier(new SplittableRandom(42) ) );
+
+        List<String> lines = Files.readAllLines(path, US_ASCII);
+        assertEquals(20_000, Files.size(path) );
+        Instant last = Instant.EPOCH;
+        for (String line : lines) {
+            assertTrue(line.matches("\\S+ (INFO |DEBUG|WARN |ERROR) \\[worker-\\d+] \\S+ - [a-z ]+"), line);
+            Instant timestamp = Instant.parse(line.substring(0, line.indexOf(' ') ) );
+            assertFalse(timestamp.isBefore(last) );
+            last = timestamp;
+        }
+    }
+
+    @Test
+    void sameSeedSameContent() throws IOException {
+        Path a = tempDir.resolve("a.log");
+        Path b = tempDir.resolve("b.log");
+        new ByteWriter(a).create(5_000, new LogLineByteSupplier(new SplittableRandom(7) ) );
+        new ByteWriter(b).create(5_000, new LogLineByteSupplier(new SplittableRandom(7) ) );
+        assertEquals(-1, Files.mismatch(a, b) );
+    }
+
+    @Test
+    void constructorThrowsWhenFieldIsPadding() {
+        TextField text = TextFields.choice("a");
+        assertThrows(IllegalArgumentException.class, () -> new LogLineByteSupplier(text, text, text, text,
+                TextFields.padding(), new SplittableRandom() ) );
+    }
+}
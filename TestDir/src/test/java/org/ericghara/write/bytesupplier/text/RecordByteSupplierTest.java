@@ -0,0 +1,152 @@
+package org.ericghara.write.bytesupplier.text;
+
+import org.ericghara.write.ByteWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordByteSupplierTest {
+
+    @TempDir
+    Path tempDir;
+
+    // records of "a", "bb", "ccc", "a", ... with an optional header
+    static class CountingSupplier extends RecordByteSupplier {
+
+        private final byte[] header;
+        private int count = 0;
+
+        CountingSupplier(String header) {
+            super(new SplittableRandom(), 16);
+            this.header = header == null ? null : header.getBytes(US_ASCII);
+        }
+
+        @Override
+        protected void encode(ByteBuffer out, RandomGenerator random) {
+            int length = count++ % 3 + 1;
+            for (int i = 0; i < length; i++) {
+                out.put( (byte) ('a' + length - 1) );
+            }
+            out.put( (byte) '\n');
+        }
+
+        @Override
+        protected byte[] header() {
+            return header;
+        }
+    }
+
+    String write(RecordByteSupplier supplier, long numBytes) throws IOException {
+        Path path = tempDir.resolve("aFile");
+        Files.deleteIfExists(path);
+        new ByteWriter(path).create(numBytes, supplier);
+        return Files.readString(path, US_ASCII);
+    }
+
+    @Test
+    void unboundedFillIsNotPadded() {
+        var buffer = ByteBuffer.allocate(11);
+        new CountingSupplier(null).fill(buffer);
+        assertEquals("a\nbb\nccc\na\n", new String(buffer.array(), US_ASCII) );
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 5, 9, 10, 11, 12, 100})
+    void fileEndsOnRecordBoundary(int size) throws IOException {
+        String found = write(new CountingSupplier(null), size);
+        assertEquals(size, found.length() );
+        assertTrue(found.endsWith("\n") );
+        for (String line : found.split("\n") ) {
+            assertTrue(line.strip().matches("a|bb|ccc"), line);
+        }
+    }
+
+    @Test
+    void lastRecordIsPaddedBeforeNewline() throws IOException {
+        assertEquals("a\nbb\nccc \n", write(new CountingSupplier(null), 10) );
+    }
+
+    @Test
+    void blankLineWhenNoRecordFits() throws IOException {
+        var supplier = new CountingSupplier(null);
+        supplier.fill(ByteBuffer.allocate(2) ); // next record is "bb\n"
+        assertEquals(" \n", write(supplier, 2) );
+    }
+
+    @Test
+    void headerBeginsFile() throws IOException {
+        var supplier = new CountingSupplier("h\n");
+        assertEquals("h\na\nbb\n", write(supplier, 7) );
+        assertEquals("h\nccc\n", write(supplier, 6) );
+    }
+
+    @Test
+    void headerIsFollowedByFillerNotPadded() throws IOException {
+        var supplier = new CountingSupplier("h\n");
+        supplier.fill(ByteBuffer.allocate(2) ); // next record is "bb\n"
+        assertEquals("h\n \n", write(supplier, 4) );
+    }
+
+    @Test
+    void fillerWhenNoRecordFits() throws IOException {
+        var supplier = new CountingSupplier(null) {
+            @Override
+            protected void filler(ByteBuffer out, int numBytes) {
+                for (int i = 1; i < numBytes; i++) {
+                    out.put( (byte) '-');
+                }
+                out.put( (byte) '\n');
+            }
+        };
+        supplier.fill(ByteBuffer.allocate(2) ); // next record is "bb\n"
+        assertEquals("-\n", write(supplier, 2) );
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {9, 10})
+    void unpaddedRecordsEndWithFiller(int size) throws IOException {
+        var supplier = new CountingSupplier(null) {
+            @Override
+            protected boolean padsRecords() {
+                return false;
+            }
+
+            @Override
+            protected int minFillerSize() {
+                return 3;
+            }
+
+            @Override
+            protected void filler(ByteBuffer out, int numBytes) {
+                for (int i = 1; i < numBytes; i++) {
+                    out.put( (byte) '-');
+                }
+                out.put( (byte) '\n');
+            }
+        };
+        // "ccc\n" would leave 1 byte at size 10, less than the smallest filler
+        String expected = size == 9 ? "a\nbb\nccc\n" : "a\nbb\n----\n";
+        assertEquals(expected, write(supplier, size) );
+    }
+
+    @Test
+    void headerOnlyAtStartOfFile() throws IOException {
+        var supplier = new CountingSupplier("h\n");
+        Path path = tempDir.resolve("aFile");
+        var writer = new ByteWriter(path);
+        writer.create(4, supplier);
+        writer.modify(4, 3, supplier);
+        assertEquals("h\na\nbb\n", Files.readString(path, US_ASCII) );
+    }
+}
@@ -0,0 +1,104 @@
+package org.ericghara.write.bytesupplier.text;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextFieldsTest {
+
+    final RandomGenerator random = new SplittableRandom(42);
+
+    String encode(TextField field) {
+        var buffer = ByteBuffer.allocate(256);
+        field.encode(buffer, random);
+        return new String(buffer.array(), 0, buffer.position(), US_ASCII);
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 7, -7, 10, 1234567890, Long.MAX_VALUE, Long.MIN_VALUE})
+    void putDecimalMatchesToString(long value) {
+        var buffer = ByteBuffer.allocate(32);
+        TextFields.putDecimal(buffer, value);
+        assertEquals(Long.toString(value), new String(buffer.array(), 0, buffer.position(), US_ASCII) );
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 951_782_400_000L, 1_640_995_200_123L, 4_102_444_799_999L, -1})
+    void putTimestampMatchesInstant(long epochMillis) {
+        var buffer = ByteBuffer.allocate(32);
+        TextFields.putTimestamp(buffer, epochMillis);
+        assertEquals(Instant.ofEpochMilli(epochMillis), Instant.parse(new String(buffer.array(), 0,
+                buffer.position(), US_ASCII) ) );
+    }
+
+    @Test
+    void sequenceIncrements() {
+        TextField field = TextFields.sequence(9);
+        assertEquals("9", encode(field) );
+        assertEquals("10", encode(field) );
+        assertFalse(field.quoted() );
+    }
+
+    @Test
+    void paddingIsEmpty() {
+        assertEquals("", encode(TextFields.padding() ) );
+        assertFalse(TextFields.padding().quoted() );
+    }
+
+    @Test
+    void doublesAreRounded() {
+        assertEquals("-1.50", encode(TextFields.doubles(r -> -1.499, 2) ) );
+        assertEquals("0.00", encode(TextFields.doubles(r -> -0.001, 2) ) );
+        assertEquals("3", encode(TextFields.doubles(r -> 2.7, 0) ) );
+        assertEquals(3.14159, Double.parseDouble(encode(TextFields.doubles(r -> 3.14159, 5) ) ) );
+    }
+
+    @Test
+    void weightedChoiceSkipsZeroWeights() {
+        var weights = new LinkedHashMap<String, Double>();
+        weights.put("never", 0D);
+        weights.put("always", 1D);
+        TextField field = TextFields.choice(weights);
+        for (int i = 0; i < 100; i++) {
+            assertEquals("always", encode(field) );
+        }
+    }
+
+    @Test
+    void wordsAreFromVocabulary() {
+        TextField field = TextFields.words(List.of("x", "y"), 2, 4);
+        for (int i = 0; i < 100; i++) {
+            String[] words = encode(field).split(" ");
+            assertTrue(words.length >= 2 && words.length <= 4);
+            for (String word : words) {
+                assertTrue(word.equals("x") || word.equals("y") );
+            }
+        }
+    }
+
+    @Test
+    void timestampsIncrease() {
+        TextField field = TextFields.timestamp(0, r -> 1500);
+        assertEquals("1970-01-01T00:00:00.000Z", encode(field) );
+        assertEquals("1970-01-01T00:00:01.500Z", encode(field) );
+    }
+
+    @Test
+    void throwsOnInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> TextFields.choice("a\"b") );
+        assertThrows(IllegalArgumentException.class, () -> TextFields.choice() );
+        assertThrows(IllegalArgumentException.class, () -> TextFields.doubles(r -> 1, 10) );
+        assertThrows(IllegalArgumentException.class, () -> TextFields.words(List.of("a"), 2, 1) );
+        assertThrows(IllegalArgumentException.class, () -> TextFields.uniform(1, 1) );
+    }
+}